@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.adventure;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.miaomoe.journey.annotation.Description;
+import net.miaomoe.journey.utils.Lazy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Description(description = "比较SerializerRegistry与旧版每次调用lazyProvider都创建新Lazy的strict序列化器")
+public class SerializerRegistryBenchmark {
+    private static final String MESSAGE = "<red>Hello <bold>world</bold></red>";
+    private static final PresetsSerializer<MiniMessage> perCallLazy = () -> new Lazy<>(() -> MiniMessage.builder().strict(true).build());
+
+    @Benchmark
+    public MiniMessage perCallLazyGet() {
+        return perCallLazy.get();
+    }
+
+    @Benchmark
+    public MiniMessage registryGet() {
+        return PresetsSerializer.strict.get();
+    }
+
+    @Benchmark
+    public Component perCallLazyDeserialize() {
+        return PresetsSerializer.deserializeUncached(perCallLazy, MESSAGE);
+    }
+
+    @Benchmark
+    public Component registryDeserializeUncached() {
+        return PresetsSerializer.deserializeUncached(PresetsSerializer.strict, MESSAGE);
+    }
+
+    @Benchmark
+    public Component registryDeserialize() {
+        return PresetsSerializer.deserialize(PresetsSerializer.strict, MESSAGE);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.attribute;
+
+import net.miaomoe.journey.annotation.Description;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Description(description = "Several threads reading SCHEDULE_DELAYED_CHECK like ThreadUtil does, with and without a writer. synchronize is the map Journey used before ConcurrentAttributeMap.")
+public class AttributeMapContentionBenchmark {
+    @Param({"synchronize", "concurrent"})
+    public String map;
+
+    private Attribute.AttributeMap attributes;
+    private int written;
+
+    @Setup
+    public void setup() {
+        attributes = "concurrent".equals(map) ? Attribute.createConcurrentMap() : Attribute.createSynchronizeMap();
+        attributes.setBooleanAttribute(Attributes.SCHEDULE_DELAYED_CHECK, true);
+        attributes.setIntAttribute(Attributes.MAIN_THREAD_BUDGET_MICROS, 0);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean read() {
+        return attributes.getBooleanAttribute(Attributes.SCHEDULE_DELAYED_CHECK, true);
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(3)
+    public boolean readWhileWriting() {
+        return attributes.getBooleanAttribute(Attributes.SCHEDULE_DELAYED_CHECK, true);
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public void write() {
+        attributes.setIntAttribute(Attributes.MAIN_THREAD_BUDGET_MICROS, written++);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.attribute;
+
+import net.miaomoe.journey.annotation.Description;
+import net.miaomoe.journey.utils.storage.primitive.IntStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Description(description = {
+        "Allocation per operation of the IntStorage flyweights, read gc.alloc.rate.norm (the gc profiler is enabled in build.gradle).",
+        "100 is inside the shared range, 100000 is outside of it."
+})
+public class StorageAllocationBenchmark {
+    private static final IntAttribute.IntAttributeImpl ATTRIBUTE = IntAttribute.create();
+
+    @Param({"100", "100000"})
+    public int value;
+
+    private Attribute.AttributeMap attributes;
+
+    @Setup
+    public void setup() {
+        attributes = Attribute.createConcurrentMap();
+        attributes.setIntAttribute(ATTRIBUTE, value);
+    }
+
+    @Benchmark
+    public IntStorage constructor() {
+        return new IntStorage(value);
+    }
+
+    @Benchmark
+    public IntStorage valueOf() {
+        return IntStorage.valueOf(value);
+    }
+
+    @Benchmark
+    public int setPrimitive() {
+        attributes.setIntAttribute(ATTRIBUTE, value);
+        return attributes.getIntAttribute(ATTRIBUTE, 0);
+    }
+
+    @Benchmark
+    public int setValueOf() {
+        attributes.setAttribute(ATTRIBUTE, IntStorage.valueOf(value));
+        return attributes.getIntAttribute(ATTRIBUTE, 0);
+    }
+}
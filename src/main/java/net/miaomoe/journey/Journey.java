@@ -20,31 +20,61 @@ package net.miaomoe.journey;
 import lombok.Getter;
 import lombok.ToString;
 import net.kyori.adventure.platform.bukkit.BukkitAudiences;
+import net.kyori.adventure.text.Component;
+import net.miaomoe.journey.annotation.Description;
 import net.miaomoe.journey.attribute.Attribute;
+import net.miaomoe.journey.attribute.AttributeSchema;
+import net.miaomoe.journey.attribute.Attributes;
+import net.miaomoe.journey.attribute.AttributeScope;
+import net.miaomoe.journey.attribute.MappedAttributeStore;
 import net.miaomoe.journey.command.CommandManager;
+import net.miaomoe.journey.functions.extend.UUIDHolder;
 import net.miaomoe.journey.modules.Module;
+import net.miaomoe.journey.modules.impl.Broadcaster;
+import net.miaomoe.journey.sender.SenderRegistry;
+import net.miaomoe.journey.utils.AsyncExecutor;
+import net.miaomoe.journey.utils.BudgetedTaskQueue;
+import net.miaomoe.journey.utils.ConcurrentLazy;
 import net.miaomoe.journey.utils.Lazy;
+import net.miaomoe.journey.utils.MainThreadQueue;
 import net.miaomoe.journey.utils.Preconditions;
 import net.miaomoe.journey.utils.ThreadUtil;
+import net.miaomoe.journey.utils.TimerService;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.regex.Pattern;
 
 import static net.miaomoe.journey.utils.Preconditions.checkArgument;
 import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
 
 @SuppressWarnings("unused")
-@ToString
+@ToString(exclude = {"playerAttributes", "attributeStores"})
 public final class Journey<P extends JavaPlugin> implements JourneyMethods<P>, Attribute.ProxiedAttributeMap {
     private final @NotNull AbstractUnmodifiable unmodifiable = new AbstractUnmodifiable() {};
     private final @NotNull Lazy<BukkitAudiences> audience;
     private final @NotNull ThreadUtil threadUtil = new ThreadUtil(this);
     private final @NotNull CommandManager commandManager;
-    @Getter private final @NotNull Attribute.AttributeMap attributeMap = Attribute.createSynchronizeMap();
+    private final @NotNull SenderRegistry senderRegistry = new SenderRegistry(this);
+    private final @NotNull ConcurrentLazy<AsyncExecutor> asyncExecutor = new ConcurrentLazy<>(this::createAsyncExecutor);
+    private final @NotNull MainThreadQueue mainThreadQueue = new MainThreadQueue(this);
+    private final @NotNull BudgetedTaskQueue budgetedTaskQueue = new BudgetedTaskQueue(this);
+    private final @NotNull ConcurrentLazy<TimerService> timerService = new ConcurrentLazy<>(() -> new TimerService(this));
+    @Getter private final @NotNull AttributeScope attributeMap;
+    private final @NotNull Map<UUID, AttributeScope> playerAttributes = new ConcurrentHashMap<>();
+    private final @NotNull Map<String, MappedAttributeStore> attributeStores = new HashMap<>();
+    private static final @NotNull Pattern STORE_NAME = Pattern.compile("[A-Za-z0-9_-]+");
     private static abstract class AbstractUnmodifiable {
         private boolean isDisabled = false;
         private final Map<Class<? extends Module>, Module> modules = new HashMap<>();
@@ -53,6 +83,7 @@ public final class Journey<P extends JavaPlugin> implements JourneyMethods<P>, A
     @Getter private final @NotNull P plugin;
     Journey(final @NotNull P plugin) {
         this.plugin = checkNotNull(plugin, "plugin");
+        this.attributeMap = JourneyLoader.getInstance().getAttributeScope().createChild(plugin.getLogger());
         this.audience = new Lazy<>(() -> BukkitAudiences.create(plugin));
         this.commandManager = new CommandManager(this);
         for (final Function<Journey<?>, Module> modules : Module.alwaysRegister) {
@@ -62,6 +93,10 @@ public final class Journey<P extends JavaPlugin> implements JourneyMethods<P>, A
 
     private void checkDisabled() { checkArgument(!unmodifiable.isDisabled, "Cannot access audiences when Journey disabled."); }
 
+    public boolean isDisabled() {
+        return unmodifiable.isDisabled;
+    }
+
     public @NotNull BukkitAudiences audiences() {
         checkDisabled();
         return audience.getValue();
@@ -71,6 +106,38 @@ public final class Journey<P extends JavaPlugin> implements JourneyMethods<P>, A
         checkDisabled();
         checkArgument(Bukkit.isPrimaryThread(), "Cannot disable Journey when not in main thread");
         unmodifiable.isDisabled = true;
+        senderRegistry.clear();
+        if (timerService.isAlreadyLoaded()) timerService.getValue().close();
+        // before the queues close: async tasks may still be waiting on server thread work queued earlier
+        if (asyncExecutor.isAlreadyLoaded()) shutdownAsyncExecutor(asyncExecutor.getValue());
+        mainThreadQueue.close();
+        budgetedTaskQueue.close();
+        synchronized (attributeStores) {
+            for (final MappedAttributeStore store : attributeStores.values()) {
+                try {
+                    store.close();
+                } catch (final IOException exception) {
+                    plugin.getLogger().log(Level.WARNING, "Failed to close attribute store", exception);
+                }
+            }
+            attributeStores.clear();
+        }
+        playerAttributes.clear();
+    }
+
+    private void shutdownAsyncExecutor(final @NotNull AsyncExecutor executor) {
+        executor.shutdown();
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        // keep running the queued server thread tasks while waiting, blocking on them would stall until the timeout
+        while (!executor.awaitTermination(10, TimeUnit.MILLISECONDS)) {
+            mainThreadQueue.drain();
+            budgetedTaskQueue.tick();
+            if (System.nanoTime() - deadline >= 0) {
+                executor.shutdownNow();
+                plugin.getLogger().log(Level.WARNING, "Async tasks did not finish in 5 seconds and were interrupted");
+                return;
+            }
+        }
     }
 
     public @NotNull ThreadUtil getThreadUtil() {
@@ -78,6 +145,43 @@ public final class Journey<P extends JavaPlugin> implements JourneyMethods<P>, A
         return threadUtil;
     }
 
+    @Description(description = "Queue behind ThreadUtil.SERVER_THREAD when called from another thread. Drained once per tick.")
+    public @NotNull MainThreadQueue getMainThreadQueue() {
+        checkDisabled();
+        return mainThreadQueue;
+    }
+
+    public @NotNull TimerService getTimerService() {
+        checkDisabled();
+        return timerService.getValue();
+    }
+
+    public @NotNull BudgetedTaskQueue getBudgetedTaskQueue() {
+        checkDisabled();
+        return budgetedTaskQueue;
+    }
+
+    @Description(description = "Executor behind ThreadUtil.ASYNC. Sized by the ASYNC_* attributes, shut down when Journey disabled.")
+    public @NotNull AsyncExecutor getAsyncExecutor() {
+        checkDisabled();
+        return asyncExecutor.getValue();
+    }
+
+    private @NotNull AsyncExecutor createAsyncExecutor() {
+        final AsyncExecutor.RejectionPolicy policy = getAttribute(Attributes.ASYNC_REJECTION_POLICY).getAttributeValue();
+        return new AsyncExecutor(
+                plugin.getName() + "-Journey-Async",
+                getIntAttribute(Attributes.ASYNC_POOL_SIZE, Math.max(2, Runtime.getRuntime().availableProcessors())),
+                getIntAttribute(Attributes.ASYNC_QUEUE_CAPACITY, 1024),
+                policy == null ? AsyncExecutor.RejectionPolicy.ABORT : policy
+        );
+    }
+
+    public @NotNull SenderRegistry getSenderRegistry() {
+        checkDisabled();
+        return senderRegistry;
+    }
+
     public @NotNull CommandManager getCommandManager() {
         checkDisabled();
         return commandManager;
@@ -111,6 +215,64 @@ public final class Journey<P extends JavaPlugin> implements JourneyMethods<P>, A
         return module;
     }
 
+    @Description(description = {
+            "Created on first access, dropped one tick after the player quits.",
+            "A scope created for a player who is not online is dropped again on the next tick."
+    })
+    public @NotNull AttributeScope getPlayerAttributes(final @NotNull UUID uuid) {
+        checkDisabled();
+        final AttributeScope scope = playerAttributes.get(checkNotNull(uuid, "uuid"));
+        if (scope != null) return scope;
+        final AttributeScope created = attributeMap.createChild();
+        final AttributeScope previous = playerAttributes.putIfAbsent(uuid, created);
+        if (previous != null) return previous;
+        // no quit event will ever come for an offline uuid, so check on the main thread whether anyone owns the scope
+        if (plugin.isEnabled()) Bukkit.getScheduler().runTask(plugin, () -> {
+            if (Bukkit.getPlayer(uuid) == null) playerAttributes.remove(uuid, created);
+        });
+        return created;
+    }
+
+    @Description(description = "Same as getPlayerAttributes but never creates a scope, e.g. for looking up offline players.")
+    public @Nullable AttributeScope getPlayerAttributesIfPresent(final @NotNull UUID uuid) {
+        checkDisabled();
+        return playerAttributes.get(checkNotNull(uuid, "uuid"));
+    }
+
+    public @NotNull AttributeScope getPlayerAttributes(final @NotNull UUIDHolder holder) {
+        return getPlayerAttributes(checkNotNull(holder, "holder").uuid());
+    }
+
+    public void removePlayerAttributes(final @NotNull UUID uuid) {
+        playerAttributes.remove(checkNotNull(uuid, "uuid"));
+    }
+
+    @Description(description = {
+            "Open (or get the already opened) store <data folder>/attributes/<name>.dat. Closed when Journey disabled.",
+            "name may only contain letters, digits, '_' and '-', so it cannot point outside that folder."
+    })
+    public @NotNull MappedAttributeStore getAttributeStore(final @NotNull String name, final @NotNull AttributeSchema schema) throws IOException {
+        checkDisabled();
+        checkArgument(STORE_NAME.matcher(checkNotNull(name, "name")).matches(), "Invalid attribute store name: " + name);
+        checkNotNull(schema, "schema");
+        synchronized (attributeStores) {
+            MappedAttributeStore store = attributeStores.get(name);
+            if (store == null) {
+                final File folder = new File(plugin.getDataFolder(), "attributes");
+                checkArgument(folder.isDirectory() || folder.mkdirs(), "Cannot create " + folder);
+                store = MappedAttributeStore.open(new File(folder, name + ".dat").toPath(), schema, 5, TimeUnit.SECONDS);
+                attributeStores.put(name, store);
+            }
+            checkArgument(store.getSchema() == schema, "Attribute store " + name + " already opened with another schema");
+            return store;
+        }
+    }
+
+    @Description(description = "Send to every online player and the console. Serialized once per protocol/locale bucket instead of once per player.")
+    public void broadcast(final @NotNull Component component) {
+        getModule(Broadcaster.class).broadcast(component);
+    }
+
     public boolean isRegistered(final @NotNull Class<? extends Module> moduleClass) {
         return unmodifiable.modules.containsKey(Preconditions.checkNotNull(moduleClass, "moduleClass"));
     }
@@ -22,16 +22,25 @@ import com.alessiodp.libby.Library;
 import com.alessiodp.libby.LibraryManager;
 import com.alessiodp.libby.relocation.Relocation;
 import lombok.Getter;
+import net.miaomoe.journey.adventure.PresetsSerializer;
+import net.miaomoe.journey.attribute.AttributeScope;
+import net.miaomoe.journey.command.injector.BukkitCommandInjector;
 import net.miaomoe.journey.inventory.JourneyInventory;
+import net.miaomoe.journey.modules.impl.ClientVersion;
+import net.miaomoe.journey.sender.SenderRegistry;
+import net.miaomoe.journey.utils.LazyWarmup;
 import net.miaomoe.journey.utils.Preconditions;
 import org.bukkit.plugin.PluginManager;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
@@ -42,6 +51,7 @@ public final class JourneyLoader extends JavaPlugin {
     @Getter private boolean enable = false;
     @Getter private boolean fullStartUp = false;
     private final Map<Class<? extends JavaPlugin>, Journey<?>> journeyMap = new ConcurrentHashMap<>();
+    @Getter private final @NotNull AttributeScope attributeScope = AttributeScope.root(getLogger());
 
     public JourneyLoader() {
         instance = this;
@@ -136,16 +146,36 @@ public final class JourneyLoader extends JavaPlugin {
     @Override
     public void onEnable() {
         enable = true;
-        getServer().getScheduler().runTask(this, () -> fullStartUp = true);
+        getServer().getScheduler().runTask(this, () -> {
+            fullStartUp = true;
+            // after all dependents are enabled, otherwise optional hooks (ViaVersion etc.) would cache a failure
+            warmup();
+        });
         final PluginManager pluginManager = getServer().getPluginManager();
         try {
             pluginManager.registerEvents(new JourneyInventory.InventoryListener(), this);
+            pluginManager.registerEvents(new SenderRegistry.PlayerListener(), this);
         } catch (final IllegalAccessException exception) {
-            getLogger().log(Level.SEVERE, "Access inventory listener failed", exception);
+            getLogger().log(Level.SEVERE, "Access listener failed", exception);
         }
         final Journey<JourneyLoader> journey = getJourney(this);
     }
 
+    private void warmup() {
+        LazyWarmup.enroll(ClientVersion.class, BukkitCommandInjector.class, PresetsSerializer.class);
+        final long start = System.nanoTime();
+        LazyWarmup.warm().thenAccept(results -> {
+            for (final LazyWarmup.Result result : results) {
+                getLogger().log(
+                        Level.FINE,
+                        "Warmup " + result.getName() + " took " + TimeUnit.NANOSECONDS.toMicros(result.getNanos()) + "us"
+                                + (result.isSuccess() ? "" : " (unavailable: " + result.getFailure() + ")")
+                );
+            }
+            getLogger().log(Level.FINE, "Warmed up " + results.size() + " entries in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+        });
+    }
+
     @SuppressWarnings("unchecked")
     public static <P extends JavaPlugin> @NotNull Journey<P> getJourney(final @NotNull P plugin) {
         final JourneyLoader loader = getInstance();
@@ -164,6 +194,10 @@ public final class JourneyLoader extends JavaPlugin {
         return (Journey<P>) checkNotNull(loader.journeyMap.get(pluginClass), "This plugins not registered Journey!");
     }
 
+    public @NotNull Collection<Journey<?>> getJourneys() {
+        return Collections.unmodifiableCollection(journeyMap.values());
+    }
+
     @Override
     public void onDisable() {
         // Plugin shutdown logic
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.adventure;
+
+import lombok.Getter;
+import lombok.ToString;
+import net.kyori.adventure.text.Component;
+import net.miaomoe.journey.annotation.Description;
+import net.miaomoe.journey.utils.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
+
+@ToString(exclude = {"segments"})
+@SuppressWarnings("unused")
+@Description(description = "有界的 字符串 -> 组件 LRU缓存. 按哈希分段加锁, 组件本身是不可变的因此可以安全共享")
+public final class ComponentCache {
+    @Description(description = "超过该长度的字符串通常包含动态内容, 不会被缓存")
+    public static final int MAX_KEY_LENGTH = 2048;
+    private static final int SEGMENTS = 16;
+
+    @Getter private final int capacity;
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ComponentCache(final int capacity) {
+        Preconditions.checkArgument(capacity > 0, "capacity must be positive");
+        this.capacity = capacity;
+        final int segmentCount = Math.min(SEGMENTS, Integer.highestOneBit(capacity));
+        final int perSegment = (capacity + segmentCount - 1) / segmentCount;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) segments[i] = new Segment(perSegment);
+    }
+
+    public @NotNull Component get(final @NotNull String message, final @NotNull Function<String, Component> parser) {
+        checkNotNull(message, "message");
+        checkNotNull(parser, "parser");
+        if (message.length() > MAX_KEY_LENGTH) {
+            misses.increment();
+            return parser.apply(message);
+        }
+        final Segment segment = segmentFor(message);
+        Component component;
+        synchronized (segment) {
+            component = segment.get(message);
+        }
+        if (component != null) {
+            hits.increment();
+            return component;
+        }
+        misses.increment();
+        // parse outside the lock. two threads may parse the same message once, the result is equal anyway
+        component = checkNotNull(parser.apply(message), "component");
+        synchronized (segment) {
+            final Component previous = segment.putIfAbsent(message, component);
+            return previous == null ? component : previous;
+        }
+    }
+
+    public void invalidate(final @NotNull String message) {
+        final Segment segment = segmentFor(checkNotNull(message, "message"));
+        synchronized (segment) {
+            segment.remove(message);
+        }
+    }
+
+    public void invalidateAll() {
+        for (final Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (final Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public long hitCount() { return hits.sum(); }
+    public long missCount() { return misses.sum(); }
+
+    public double hitRate() {
+        final long hits = hitCount();
+        final long total = hits + missCount();
+        return total == 0 ? 1.0 : (double) hits / total;
+    }
+
+    public void resetStats() {
+        hits.reset();
+        misses.reset();
+    }
+
+    private @NotNull Segment segmentFor(final @NotNull String message) {
+        final int hash = message.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    private static final class Segment extends LinkedHashMap<String, Component> {
+        private final int maxSize;
+
+        private Segment(final int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Component> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
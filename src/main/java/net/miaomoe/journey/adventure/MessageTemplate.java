@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.adventure;
+
+import lombok.Getter;
+import lombok.ToString;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.TranslationArgument;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.Style;
+import net.miaomoe.journey.annotation.Description;
+import net.miaomoe.journey.utils.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
+
+@ToString(of = {"source", "placeholders"})
+@SuppressWarnings("unused")
+@Description(description = "预编译的消息模板. 模板只解析一次, 渲染时直接把参数替换进组件树中的占位符而不是重新解析")
+public final class MessageTemplate {
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{([A-Za-z0-9_]+)}");
+    // private use area, never produced by any serializer
+    private static final char MARKER_BASE = '\uE000';
+    private static final int MAX_PLACEHOLDERS = 256;
+
+    @Getter private final @NotNull String source;
+    @Getter private final @NotNull List<String> placeholders;
+    private final @NotNull Component root;
+    private final @NotNull Set<Component> dynamic = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private MessageTemplate(
+            final @NotNull String source,
+            final @NotNull List<String> placeholders,
+            final int occurrences,
+            final @NotNull Component root
+    ) {
+        this.source = source;
+        this.placeholders = Collections.unmodifiableList(placeholders);
+        this.root = root;
+        // a placeholder ending up anywhere render() does not visit (translation key, fallback, font, keybind...)
+        // would silently stay a marker, refuse the template instead
+        Preconditions.checkArgument(
+                mark(root) >= occurrences,
+                "Placeholders are only supported in text, translation arguments, SHOW_TEXT hovers, click values and insertions: " + source
+        );
+    }
+
+    @Description(description = {
+            "编译模板. 占位符格式为 {name}, 渲染时按首次出现的顺序传入参数",
+            "占位符只能出现在文本, 翻译参数, SHOW_TEXT 悬浮, 点击事件和 insertion 中, 否则抛出 IllegalArgumentException"
+    })
+    public static @NotNull MessageTemplate compile(final @NotNull PresetsSerializer<?> serializer, final @NotNull String template) {
+        checkNotNull(serializer, "serializer");
+        checkNotNull(template, "template");
+        for (int i = 0; i < template.length(); i++) {
+            Preconditions.checkArgument(!isMarker(template.charAt(i)), "template contains reserved character at " + i);
+        }
+        final List<String> placeholders = new ArrayList<>();
+        final StringBuffer buffer = new StringBuffer(template.length());
+        final Matcher matcher = PLACEHOLDER.matcher(template);
+        int occurrences = 0;
+        while (matcher.find()) {
+            occurrences++;
+            final String name = matcher.group(1);
+            int index = placeholders.indexOf(name);
+            if (index < 0) {
+                Preconditions.checkArgument(placeholders.size() < MAX_PLACEHOLDERS, "too many placeholders");
+                index = placeholders.size();
+                placeholders.add(name);
+            }
+            matcher.appendReplacement(buffer, String.valueOf((char) (MARKER_BASE + index)));
+        }
+        matcher.appendTail(buffer);
+        return new MessageTemplate(template, placeholders, occurrences, PresetsSerializer.deserializeUncached(serializer, buffer.toString()));
+    }
+
+    public static @NotNull MessageTemplate miniMessage(final @NotNull String template) {
+        return compile(PresetsSerializer.miniMessage, template);
+    }
+
+    @Description(description = "按占位符顺序传入参数. Component/ComponentLike 原样插入, 其它对象使用 String.valueOf 作为纯文本插入")
+    public @NotNull Component render(final @Nullable Object @NotNull ... args) {
+        checkNotNull(args, "args");
+        Preconditions.checkArgument(
+                args.length == placeholders.size(),
+                "Template expects " + placeholders.size() + " arguments " + placeholders + " but got " + args.length
+        );
+        if (dynamic.isEmpty()) return root;
+        final Component[] components = new Component[args.length];
+        for (int i = 0; i < args.length; i++) components[i] = asComponent(args[i]);
+        return render(root, components);
+    }
+
+    public @NotNull Component render(final @NotNull Map<String, ?> args) {
+        checkNotNull(args, "args");
+        final Object[] array = new Object[placeholders.size()];
+        for (int i = 0; i < array.length; i++) {
+            final String name = placeholders.get(i);
+            Preconditions.checkArgument(args.containsKey(name), "Missing argument " + name);
+            array[i] = args.get(name);
+        }
+        return render(array);
+    }
+
+    private static boolean isMarker(final char c) {
+        return c >= MARKER_BASE && c < MARKER_BASE + MAX_PLACEHOLDERS;
+    }
+
+    private static boolean hasMarker(final @Nullable String text) {
+        return countMarkers(text) != 0;
+    }
+
+    private static int countMarkers(final @Nullable String text) {
+        if (text == null) return 0;
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) if (isMarker(text.charAt(i))) count++;
+        return count;
+    }
+
+    private static @NotNull String replaceMarkers(final @NotNull String text, final @NotNull Component @NotNull [] args) {
+        final StringBuilder builder = new StringBuilder(text.length() + 16);
+        for (final char c : text.toCharArray()) {
+            if (isMarker(c)) builder.append(PresetsSerializer.serialize(PresetsSerializer.plainText, args[c - MARKER_BASE]));
+            else builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    private static @NotNull Component asComponent(final @Nullable Object arg) {
+        if (arg instanceof ComponentLike) return ((ComponentLike) arg).asComponent();
+        return Component.text(String.valueOf(arg));
+    }
+
+    // marks every node which is or contains a placeholder, so render() can return untouched subtrees as is.
+    // returns the number of placeholders found, so the constructor can tell whether any of them was missed
+    private int mark(final @NotNull Component node) {
+        int found = node instanceof TextComponent ? countMarkers(((TextComponent) node).content()) : 0;
+        if (node instanceof TranslatableComponent) {
+            for (final TranslationArgument argument : ((TranslatableComponent) node).arguments()) {
+                if (argument.value() instanceof Component) found += mark((Component) argument.value());
+            }
+        }
+        final HoverEvent<?> hover = node.hoverEvent();
+        if (hover != null && hover.action() == HoverEvent.Action.SHOW_TEXT) found += mark((Component) hover.value());
+        final ClickEvent click = node.clickEvent();
+        if (click != null) found += countMarkers(click.value());
+        found += countMarkers(node.insertion());
+        for (final Component child : node.children()) found += mark(child);
+        if (found != 0) dynamic.add(node);
+        return found;
+    }
+
+    private @NotNull Component render(final @NotNull Component node, final @NotNull Component @NotNull [] args) {
+        if (!dynamic.contains(node)) return node;
+        final List<Component> children = node.children();
+        final List<Component> rendered = new ArrayList<>(children.size());
+        for (final Component child : children) rendered.add(render(child, args));
+        final Style style = renderStyle(node.style(), args);
+        if (node instanceof TextComponent && hasMarker(((TextComponent) node).content())) {
+            final String content = ((TextComponent) node).content();
+            final TextComponent.Builder builder = Component.text().style(style);
+            boolean first = true;
+            int start = 0;
+            for (int i = 0; i < content.length(); i++) {
+                final char c = content.charAt(i);
+                if (!isMarker(c)) continue;
+                final String segment = content.substring(start, i);
+                if (first) {
+                    builder.content(segment);
+                    first = false;
+                } else if (!segment.isEmpty()) builder.append(Component.text(segment));
+                builder.append(args[c - MARKER_BASE]);
+                start = i + 1;
+            }
+            if (start < content.length()) builder.append(Component.text(content.substring(start)));
+            return builder.append(rendered).build();
+        }
+        if (node instanceof TranslatableComponent) {
+            final List<TranslationArgument> arguments = ((TranslatableComponent) node).arguments();
+            final List<ComponentLike> renderedArguments = new ArrayList<>(arguments.size());
+            for (final TranslationArgument argument : arguments) {
+                final Object value = argument.value();
+                renderedArguments.add(value instanceof Component && dynamic.contains(value) ? render((Component) value, args) : argument);
+            }
+            return ((TranslatableComponent) node).arguments(renderedArguments).style(style).children(rendered);
+        }
+        return node.style(style).children(rendered);
+    }
+
+    private @NotNull Style renderStyle(final @NotNull Style style, final @NotNull Component @NotNull [] args) {
+        Style result = style;
+        final HoverEvent<?> hover = style.hoverEvent();
+        if (hover != null && hover.action() == HoverEvent.Action.SHOW_TEXT) {
+            final Component value = (Component) hover.value();
+            if (dynamic.contains(value)) result = result.hoverEvent(HoverEvent.showText(render(value, args)));
+        }
+        final ClickEvent click = style.clickEvent();
+        if (click != null && hasMarker(click.value())) {
+            result = result.clickEvent(ClickEvent.clickEvent(click.action(), replaceMarkers(click.value(), args)));
+        }
+        final String insertion = style.insertion();
+        if (insertion != null && hasMarker(insertion)) result = result.insertion(replaceMarkers(insertion, args));
+        return result;
+    }
+}
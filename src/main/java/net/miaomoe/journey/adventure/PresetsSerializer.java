@@ -26,6 +26,7 @@ import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import net.miaomoe.journey.annotation.Description;
 import net.miaomoe.journey.utils.Lazy;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.function.BiFunction;
 
@@ -37,23 +38,32 @@ import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
 public interface PresetsSerializer<T extends ComponentSerializer<Component, ?, String>> {
     @SuppressWarnings("DeprecatedIsStillUsed") @Deprecated @NotNull Lazy<@NotNull T> lazyProvider();
     default @NotNull T get() { return lazyProvider().getValue(); }
+    @Description(description = "已解析组件的缓存. 为null时每次都会重新解析")
+    default @Nullable ComponentCache cache() { return null; }
 
     @Description(description = "经典宽松的MiniMessage格式的解析器")
-    PresetsSerializer<MiniMessage> miniMessage = () -> new Lazy<>(MiniMessage::miniMessage);
+    PresetsSerializer<MiniMessage> miniMessage = SerializerRegistry.register("minimessage", MiniMessage::miniMessage);
     @Description(description = "严格的MiniMessage格式解析器 要求所有标签正确编写和闭合. 但非常适合将序列化后的字符串插入到其它的消息中")
-    PresetsSerializer<MiniMessage> strict = () -> new Lazy<>(() -> MiniMessage.builder().strict(true).build());
+    PresetsSerializer<MiniMessage> strict = SerializerRegistry.register("strict", () -> MiniMessage.builder().strict(true).build());
     @Description(description = "用于解析旧版颜色(分节符 §)符号到组件的解析器. 不支持点击事件和悬浮事件")
-    PresetsSerializer<LegacyComponentSerializer> legacySection = () -> new Lazy<>(LegacyComponentSerializer::legacySection);
+    PresetsSerializer<LegacyComponentSerializer> legacySection = SerializerRegistry.register("legacysection", LegacyComponentSerializer::legacySection);
     @Description(description = "与legacySection的唯一区别是分节符在该解析器中应被替换成&")
-    PresetsSerializer<LegacyComponentSerializer> legacyAmpersand = () -> new Lazy<>(LegacyComponentSerializer::legacyAmpersand);
+    PresetsSerializer<LegacyComponentSerializer> legacyAmpersand = SerializerRegistry.register("legacyampersand", LegacyComponentSerializer::legacyAmpersand);
     @Description(description = "纯文本解析器")
-    PresetsSerializer<PlainTextComponentSerializer> plainText = () -> new Lazy<>(PlainTextComponentSerializer::plainText);
+    PresetsSerializer<PlainTextComponentSerializer> plainText = SerializerRegistry.register("plaintext", PlainTextComponentSerializer::plainText);
 
     static @NotNull String serialize(final @NotNull PresetsSerializer<?> serializer, final @NotNull Component component) {
         return Private.invoke(serializer, component, "component", ComponentSerializer::serialize);
     }
 
     static @NotNull Component deserialize(final @NotNull PresetsSerializer<?> serializer, final @NotNull String message) {
+        final ComponentCache cache = checkNotNull(serializer, "serializer").cache();
+        if (cache == null) return deserializeUncached(serializer, message);
+        return cache.get(checkNotNull(message, "message"), it -> deserializeUncached(serializer, it));
+    }
+
+    @Description(description = "跳过缓存直接解析. 适用于包含玩家名等动态内容的消息, 避免它们挤掉缓存中的固定消息")
+    static @NotNull Component deserializeUncached(final @NotNull PresetsSerializer<?> serializer, final @NotNull String message) {
         return Private.invoke(serializer, message, "message", ComponentSerializer::deserialize);
     }
 
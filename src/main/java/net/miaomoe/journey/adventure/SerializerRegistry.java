@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.adventure;
+
+import lombok.Getter;
+import lombok.ToString;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.ComponentSerializer;
+import net.miaomoe.journey.annotation.Description;
+import net.miaomoe.journey.functions.exceptionally.ExceptionSupplier;
+import net.miaomoe.journey.utils.ConcurrentLazy;
+import net.miaomoe.journey.utils.Lazy;
+import net.miaomoe.journey.utils.LazyWarmup;
+import net.miaomoe.journey.utils.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
+
+@SuppressWarnings("unused")
+@Description(description = "按名称注册的序列化器. 每个名称只会创建一个实例并在所有线程间共享")
+public final class SerializerRegistry {
+    public static final int DEFAULT_CACHE_CAPACITY = 512;
+    private static final Map<String, Entry<?>> entries = new ConcurrentHashMap<>();
+
+    private SerializerRegistry() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Description(description = "注册一个在首次使用时才创建的序列化器. 名称不区分大小写且不可重复")
+    public static <T extends ComponentSerializer<Component, ?, String>> @NotNull PresetsSerializer<T> register(
+            final @NotNull String key,
+            final @NotNull ExceptionSupplier<T> factory
+    ) {
+        return register(key, factory, DEFAULT_CACHE_CAPACITY);
+    }
+
+    @Description(description = "cacheCapacity为0时不缓存解析结果")
+    public static <T extends ComponentSerializer<Component, ?, String>> @NotNull PresetsSerializer<T> register(
+            final @NotNull String key,
+            final @NotNull ExceptionSupplier<T> factory,
+            final int cacheCapacity
+    ) {
+        Preconditions.checkArgument(cacheCapacity >= 0, "cacheCapacity cannot be negative");
+        final Entry<T> entry = new Entry<>(
+                normalize(key),
+                new ConcurrentLazy<>(checkNotNull(factory, "factory")),
+                cacheCapacity == 0 ? null : new ComponentCache(cacheCapacity)
+        );
+        Preconditions.checkArgument(entries.putIfAbsent(entry.key, entry) == null, "Serializer " + entry.key + " is already registered");
+        LazyWarmup.register("SerializerRegistry." + entry.key, entry.instance);
+        return entry;
+    }
+
+    @Description(description = "注册一个已经创建好的序列化器 (例如带有自定义TagResolver的MiniMessage)")
+    public static <T extends ComponentSerializer<Component, ?, String>> @NotNull PresetsSerializer<T> registerInstance(
+            final @NotNull String key,
+            final @NotNull T serializer
+    ) {
+        checkNotNull(serializer, "serializer");
+        final ExceptionSupplier<T> factory = () -> serializer;
+        return register(key, factory);
+    }
+
+    public static boolean unregister(final @NotNull String key) {
+        final Entry<?> entry = entries.remove(normalize(key));
+        if (entry == null) return false;
+        LazyWarmup.unregister("SerializerRegistry." + entry.key);
+        return true;
+    }
+
+    public static @Nullable PresetsSerializer<?> get(final @NotNull String key) {
+        ensurePresets();
+        return entries.get(normalize(key));
+    }
+
+    public static @NotNull PresetsSerializer<?> require(final @NotNull String key) {
+        final PresetsSerializer<?> serializer = get(key);
+        Preconditions.checkArgument(serializer != null, "Serializer " + key + " is not registered");
+        return serializer;
+    }
+
+    public static @NotNull Set<String> keys() {
+        ensurePresets();
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    private static void ensurePresets() {
+        // reading a preset runs the initializer of PresetsSerializer, which registers the built-in keys.
+        // not done in a static block of this class to avoid a class init deadlock between both classes
+        checkNotNull(PresetsSerializer.miniMessage, "presets");
+    }
+
+    private static @NotNull String normalize(final @NotNull String key) {
+        final String normalized = checkNotNull(key, "key").trim().toLowerCase(Locale.ROOT);
+        Preconditions.checkArgument(!normalized.isEmpty(), "key cannot be empty");
+        return normalized;
+    }
+
+    @ToString(exclude = {"instance"})
+    private static final class Entry<T extends ComponentSerializer<Component, ?, String>> implements PresetsSerializer<T> {
+        @Getter private final @NotNull String key;
+        private final @NotNull ConcurrentLazy<T> instance;
+        private final @Nullable ComponentCache cache;
+
+        private Entry(final @NotNull String key, final @NotNull ConcurrentLazy<T> instance, final @Nullable ComponentCache cache) {
+            this.key = key;
+            this.instance = instance;
+            this.cache = cache;
+        }
+
+        @Override
+        public @Nullable ComponentCache cache() {
+            return cache;
+        }
+
+        @Override
+        public @NotNull T get() {
+            return instance.getValue();
+        }
+
+        @Override
+        @Deprecated
+        public @NotNull Lazy<@NotNull T> lazyProvider() {
+            return new Lazy<>(this::get);
+        }
+    }
+}
@@ -19,16 +19,23 @@ package net.miaomoe.journey.attribute;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
+import net.miaomoe.journey.annotation.Description;
 import net.miaomoe.journey.utils.Preconditions;
 import net.miaomoe.journey.utils.storage.primitive.BooleanStorage;
+import net.miaomoe.journey.utils.storage.primitive.ByteStorage;
+import net.miaomoe.journey.utils.storage.primitive.DoubleStorage;
+import net.miaomoe.journey.utils.storage.primitive.FloatStorage;
 import net.miaomoe.journey.utils.storage.primitive.IntStorage;
+import net.miaomoe.journey.utils.storage.primitive.LongStorage;
+import net.miaomoe.journey.utils.storage.primitive.PrimitiveStorage;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -43,6 +50,16 @@ public interface Attribute<T, O extends Attribute<T, O>> {
 
     T tryCastValue(final @NotNull Object o) throws ClassCastException;
 
+    @Description(description = "Fixed-width binary form of the value, used to persist and replicate attribute maps. null if not serializable.")
+    default @Nullable AttributeCodec<T> codec() {
+        return null;
+    }
+
+    @Description(description = "Dense index assigned by the create() factories. -1 if the attribute is not indexed.")
+    default int index() {
+        return -1;
+    }
+
     interface Result<T, A extends Attribute<T, ?>> extends Supplier<T> {
         Class<? extends A> getAttributeClass();
         T getAttributeValue();
@@ -51,30 +68,126 @@ public interface Attribute<T, O extends Attribute<T, O>> {
         default T get() {
             return getAttributeValue();
         }
+
+        static <T, A extends Attribute<T, A>> @NotNull Result<T, A> of(final @NotNull A attribute, final @Nullable T value) {
+            return new Result<T, A>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Class<? extends A> getAttributeClass() {
+                    return (Class<? extends A>) attribute.getClass();
+                }
+
+                @Override
+                public T getAttributeValue() {
+                    return value;
+                }
+            };
+        }
     }
 
     interface AttributeMap {
         <T> void setAttribute(final @NotNull Attribute<T, ?> attribute, final @Nullable T value);
 
+        @Description(description = {
+                "A storage passed to setAttribute is returned as-is and writes to it go through to the map.",
+                "Values written with the set*Attribute primitive accessors are kept as raw bits by the indexed",
+                "and concurrent maps, so they are returned as a new copy: change them with set*Attribute instead."
+        })
         <T, A extends Attribute<T, A>> @NotNull Result<@Nullable T, A> getAttribute(final @NotNull A attribute);
         default <T, A extends Attribute<T, A>> @NotNull Optional<T> getOptionalAttribute(final @NotNull A attribute) {
             return Optional.ofNullable(getAttribute(attribute).getAttributeValue());
         }
 
+        @Description(description = {
+                "Value of the attribute, or the supplied value after storing it when absent.",
+                "Atomic in the concurrent map and scopes: racing callers all receive the same instance,",
+                "which is how shared mutable storages (e.g. AtomicIntStorage) should be created."
+        })
+        default <T, A extends Attribute<T, A>> @NotNull T getOrCreateAttribute(final @NotNull A attribute, final @NotNull Supplier<? extends T> supplier) {
+            final T value = getAttribute(attribute).getAttributeValue();
+            if (value != null) return value;
+            final T created = PrimitiveStorage.unfrozen(Preconditions.checkNotNull(Preconditions.checkNotNull(supplier, "supplier").get(), "value"));
+            setAttribute(attribute, created);
+            return created;
+        }
+
+        @Description(description = "Immutable view of the current values. Writes to the returned map throw UnsupportedOperationException.")
+        default @NotNull AttributeMap snapshot() {
+            throw new UnsupportedOperationException("Snapshot is not supported by " + getClass().getName());
+        }
+
+        @Description(description = {
+                "Listen for changes of the given attributes (null for all). Changes are collected and the listener",
+                "is invoked with a batch once the executor runs it. Use Runnable::run to dispatch on the writer thread."
+        })
+        default @NotNull AttributeListener.Registration addListener(
+                final @Nullable Collection<? extends Attribute<?, ?>> attributes,
+                final @NotNull Executor executor,
+                final @NotNull AttributeListener listener
+        ) {
+            throw new UnsupportedOperationException("Listener is not supported by " + getClass().getName());
+        }
+
+        default @NotNull AttributeListener.Registration addListener(
+                final @NotNull Attribute<?, ?> attribute,
+                final @NotNull Executor executor,
+                final @NotNull AttributeListener listener
+        ) {
+            return addListener(Collections.singleton(Preconditions.checkNotNull(attribute, "attribute")), executor, listener);
+        }
+
         default <A extends BooleanAttribute<A>> boolean getBooleanAttribute(final @NotNull A attribute, final boolean defaultValue) {
-            return getOptionalAttribute(attribute).orElseGet(() -> new BooleanStorage(defaultValue)).getPrimitive();
+            final BooleanStorage storage = getAttribute(attribute).getAttributeValue();
+            return storage == null ? defaultValue : storage.getPrimitive();
         }
 
         default void setBooleanAttribute(final @NotNull BooleanAttribute<?> attribute, final boolean value) {
-            setAttribute(attribute, new BooleanStorage(value));
+            setAttribute(attribute, BooleanStorage.valueOf(value));
         }
 
         default <A extends IntAttribute<A>> int getIntAttribute(final @NotNull A attribute, final int defaultValue) {
-            return getOptionalAttribute(attribute).orElseGet(() -> new IntStorage(defaultValue)).getPrimitive();
+            final IntStorage storage = getAttribute(attribute).getAttributeValue();
+            return storage == null ? defaultValue : storage.getPrimitive();
         }
 
         default void setIntAttribute(final @NotNull IntAttribute<?> attribute, final int value) {
-            setAttribute(attribute, new IntStorage(value));
+            setAttribute(attribute, IntStorage.valueOf(value));
+        }
+
+        default <A extends LongAttribute<A>> long getLongAttribute(final @NotNull A attribute, final long defaultValue) {
+            final LongStorage storage = getAttribute(attribute).getAttributeValue();
+            return storage == null ? defaultValue : storage.getPrimitive();
+        }
+
+        default void setLongAttribute(final @NotNull LongAttribute<?> attribute, final long value) {
+            setAttribute(attribute, new LongStorage(value));
+        }
+
+        default <A extends DoubleAttribute<A>> double getDoubleAttribute(final @NotNull A attribute, final double defaultValue) {
+            final DoubleStorage storage = getAttribute(attribute).getAttributeValue();
+            return storage == null ? defaultValue : storage.getPrimitive();
+        }
+
+        default void setDoubleAttribute(final @NotNull DoubleAttribute<?> attribute, final double value) {
+            setAttribute(attribute, new DoubleStorage(value));
+        }
+
+        default <A extends ByteAttribute<A>> byte getByteAttribute(final @NotNull A attribute, final byte defaultValue) {
+            final ByteStorage storage = getAttribute(attribute).getAttributeValue();
+            return storage == null ? defaultValue : storage.getPrimitive();
+        }
+
+        default void setByteAttribute(final @NotNull ByteAttribute<?> attribute, final byte value) {
+            setAttribute(attribute, ByteStorage.valueOf(value));
+        }
+
+        default <A extends FloatAttribute<A>> float getFloatAttribute(final @NotNull A attribute, final float defaultValue) {
+            final FloatStorage storage = getAttribute(attribute).getAttributeValue();
+            return storage == null ? defaultValue : storage.getPrimitive();
+        }
+
+        default void setFloatAttribute(final @NotNull FloatAttribute<?> attribute, final float value) {
+            setAttribute(attribute, new FloatStorage(value));
         }
     }
 
@@ -102,7 +215,7 @@ public interface Attribute<T, O extends Attribute<T, O>> {
             } else if (value == null) {
                 accessMap(map -> map.remove(attribute));
             } else {
-                accessMap(map -> map.put(attribute, value));
+                accessMap(map -> map.put(attribute, PrimitiveStorage.unfrozen(value)));
             }
         }
 
@@ -112,6 +225,24 @@ public interface Attribute<T, O extends Attribute<T, O>> {
             return createResult(attribute, () -> v == null ? null : attribute.tryCastValue(v));
         }
 
+        @Override
+        public <T, A extends Attribute<T, A>> @NotNull T getOrCreateAttribute(final @NotNull A attribute, final @NotNull Supplier<? extends T> supplier) {
+            if (!synchronize) return AttributeMap.super.getOrCreateAttribute(attribute, supplier);
+            synchronized (map) {
+                return AttributeMap.super.getOrCreateAttribute(attribute, supplier);
+            }
+        }
+
+        @Override
+        public @NotNull AttributeMap snapshot() {
+            if (unmodifiable) return this;
+            return accessMap(map -> {
+                final IndexedAttributeMap copy = new IndexedAttributeMap(false);
+                for (final Map.Entry<Attribute<?, ?>, Object> entry : map.entrySet()) copy.put(entry.getKey(), entry.getValue());
+                return copy.freeze(-1L);
+            });
+        }
+
         private static  <T, O extends Attribute<T, O>> Result<T, O> createResult(final @NotNull O attribute, final @NotNull Supplier<T> supplier) {
             return new Result<T, O>() {
                 @Override
@@ -140,6 +271,85 @@ public interface Attribute<T, O extends Attribute<T, O>> {
         default <T> void setAttribute(final @NotNull Attribute<T, ?> attribute, @Nullable final T value) {
             Preconditions.checkNotNull(getAttributeMap(), "attributeMap").setAttribute(attribute, value);
         }
+
+        @Override
+        default <T, A extends Attribute<T, A>> @NotNull T getOrCreateAttribute(final @NotNull A attribute, final @NotNull Supplier<? extends T> supplier) {
+            return Preconditions.checkNotNull(getAttributeMap(), "attributeMap").getOrCreateAttribute(attribute, supplier);
+        }
+
+        @Override
+        default @NotNull AttributeMap snapshot() {
+            return Preconditions.checkNotNull(getAttributeMap(), "attributeMap").snapshot();
+        }
+
+        @Override
+        default @NotNull AttributeListener.Registration addListener(
+                final @Nullable Collection<? extends Attribute<?, ?>> attributes,
+                final @NotNull Executor executor,
+                final @NotNull AttributeListener listener
+        ) {
+            return Preconditions.checkNotNull(getAttributeMap(), "attributeMap").addListener(attributes, executor, listener);
+        }
+
+        @Override
+        default <A extends BooleanAttribute<A>> boolean getBooleanAttribute(final @NotNull A attribute, final boolean defaultValue) {
+            return Preconditions.checkNotNull(getAttributeMap(), "attributeMap").getBooleanAttribute(attribute, defaultValue);
+        }
+
+        @Override
+        default void setBooleanAttribute(final @NotNull BooleanAttribute<?> attribute, final boolean value) {
+            Preconditions.checkNotNull(getAttributeMap(), "attributeMap").setBooleanAttribute(attribute, value);
+        }
+
+        @Override
+        default <A extends IntAttribute<A>> int getIntAttribute(final @NotNull A attribute, final int defaultValue) {
+            return Preconditions.checkNotNull(getAttributeMap(), "attributeMap").getIntAttribute(attribute, defaultValue);
+        }
+
+        @Override
+        default void setIntAttribute(final @NotNull IntAttribute<?> attribute, final int value) {
+            Preconditions.checkNotNull(getAttributeMap(), "attributeMap").setIntAttribute(attribute, value);
+        }
+
+        @Override
+        default <A extends LongAttribute<A>> long getLongAttribute(final @NotNull A attribute, final long defaultValue) {
+            return Preconditions.checkNotNull(getAttributeMap(), "attributeMap").getLongAttribute(attribute, defaultValue);
+        }
+
+        @Override
+        default void setLongAttribute(final @NotNull LongAttribute<?> attribute, final long value) {
+            Preconditions.checkNotNull(getAttributeMap(), "attributeMap").setLongAttribute(attribute, value);
+        }
+
+        @Override
+        default <A extends DoubleAttribute<A>> double getDoubleAttribute(final @NotNull A attribute, final double defaultValue) {
+            return Preconditions.checkNotNull(getAttributeMap(), "attributeMap").getDoubleAttribute(attribute, defaultValue);
+        }
+
+        @Override
+        default void setDoubleAttribute(final @NotNull DoubleAttribute<?> attribute, final double value) {
+            Preconditions.checkNotNull(getAttributeMap(), "attributeMap").setDoubleAttribute(attribute, value);
+        }
+
+        @Override
+        default <A extends ByteAttribute<A>> byte getByteAttribute(final @NotNull A attribute, final byte defaultValue) {
+            return Preconditions.checkNotNull(getAttributeMap(), "attributeMap").getByteAttribute(attribute, defaultValue);
+        }
+
+        @Override
+        default void setByteAttribute(final @NotNull ByteAttribute<?> attribute, final byte value) {
+            Preconditions.checkNotNull(getAttributeMap(), "attributeMap").setByteAttribute(attribute, value);
+        }
+
+        @Override
+        default <A extends FloatAttribute<A>> float getFloatAttribute(final @NotNull A attribute, final float defaultValue) {
+            return Preconditions.checkNotNull(getAttributeMap(), "attributeMap").getFloatAttribute(attribute, defaultValue);
+        }
+
+        @Override
+        default void setFloatAttribute(final @NotNull FloatAttribute<?> attribute, final float value) {
+            Preconditions.checkNotNull(getAttributeMap(), "attributeMap").setFloatAttribute(attribute, value);
+        }
     }
 
     static AttributeMap emptyMap() {
@@ -147,7 +357,15 @@ public interface Attribute<T, O extends Attribute<T, O>> {
     }
 
     static AttributeMap createSynchronizeMap() {
-        return new DefaultAttributeImpl(new HashMap<>(), true, true);
+        return new IndexedAttributeMap(true);
+    }
+
+    static AttributeMap createIndexedMap() {
+        return new IndexedAttributeMap(false);
+    }
+
+    static AttributeMap createConcurrentMap() {
+        return new ConcurrentAttributeMap();
     }
 
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.attribute;
+
+import net.miaomoe.journey.annotation.Description;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static net.miaomoe.journey.utils.Preconditions.checkArgument;
+import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
+
+@SuppressWarnings("unused")
+@Description(description = {
+        "Fixed-width binary form of an attribute value.",
+        "read/write use absolute positions and never touch the buffer position or limit."
+})
+public interface AttributeCodec<T> {
+    int width();
+
+    void write(final @NotNull ByteBuffer buffer, final int offset, final @NotNull T value);
+
+    @NotNull T read(final @NotNull ByteBuffer buffer, final int offset);
+
+    @Description(description = "Stores the ordinal as an int. Reordering the constants changes the stored values.")
+    static <E extends Enum<E>> @NotNull AttributeCodec<E> ofEnum(final @NotNull Class<E> type) {
+        final E[] constants = checkNotNull(type, "type").getEnumConstants();
+        return new AttributeCodec<E>() {
+            @Override
+            public int width() {
+                return 4;
+            }
+
+            @Override
+            public void write(final @NotNull ByteBuffer buffer, final int offset, final @NotNull E value) {
+                buffer.putInt(offset, value.ordinal());
+            }
+
+            @Override
+            public @NotNull E read(final @NotNull ByteBuffer buffer, final int offset) {
+                return constants[buffer.getInt(offset)];
+            }
+        };
+    }
+
+    static @NotNull AttributeCodec<UUID> ofUuid() {
+        return new AttributeCodec<UUID>() {
+            @Override
+            public int width() {
+                return 16;
+            }
+
+            @Override
+            public void write(final @NotNull ByteBuffer buffer, final int offset, final @NotNull UUID value) {
+                buffer.putLong(offset, value.getMostSignificantBits());
+                buffer.putLong(offset + 8, value.getLeastSignificantBits());
+            }
+
+            @Override
+            public @NotNull UUID read(final @NotNull ByteBuffer buffer, final int offset) {
+                return new UUID(buffer.getLong(offset), buffer.getLong(offset + 8));
+            }
+        };
+    }
+
+    @Description(description = "UTF-8 string prefixed by its length as a short. Writing more than maxBytes bytes throws IllegalArgumentException.")
+    static @NotNull AttributeCodec<String> ofString(final int maxBytes) {
+        checkArgument(maxBytes > 0 && maxBytes <= Short.MAX_VALUE, "maxBytes must be in 1.." + Short.MAX_VALUE);
+        return new AttributeCodec<String>() {
+            @Override
+            public int width() {
+                return 2 + maxBytes;
+            }
+
+            @Override
+            public void write(final @NotNull ByteBuffer buffer, final int offset, final @NotNull String value) {
+                final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                checkArgument(bytes.length <= maxBytes, "String exceeds " + maxBytes + " bytes");
+                buffer.putShort(offset, (short) bytes.length);
+                for (int i = 0; i < bytes.length; i++) buffer.put(offset + 2 + i, bytes[i]);
+            }
+
+            @Override
+            public @NotNull String read(final @NotNull ByteBuffer buffer, final int offset) {
+                final byte[] bytes = new byte[buffer.getShort(offset)];
+                for (int i = 0; i < bytes.length; i++) bytes[i] = buffer.get(offset + 2 + i);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.attribute;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class AttributeIndex {
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+    private static final AtomicInteger FLAG_COUNTER = new AtomicInteger();
+
+    static int next() {
+        return COUNTER.getAndIncrement();
+    }
+
+    static int nextFlag() {
+        return FLAG_COUNTER.getAndIncrement();
+    }
+
+    static int size() {
+        return COUNTER.get();
+    }
+}
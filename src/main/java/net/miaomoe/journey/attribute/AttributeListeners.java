@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.attribute;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
+
+final class AttributeListeners {
+    private final @NotNull Attribute.AttributeMap owner;
+    private final @NotNull Logger logger;
+    private final @NotNull List<Entry> entries = new CopyOnWriteArrayList<>();
+
+    AttributeListeners(final @NotNull Attribute.AttributeMap owner, final @NotNull Logger logger) {
+        this.owner = owner;
+        this.logger = logger;
+    }
+
+    boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    @NotNull AttributeListener.Registration add(
+            final @Nullable Collection<? extends Attribute<?, ?>> attributes,
+            final @NotNull Executor executor,
+            final @NotNull AttributeListener listener
+    ) {
+        final Entry entry = new Entry(
+                attributes == null ? null : new HashSet<>(attributes),
+                checkNotNull(executor, "executor"),
+                checkNotNull(listener, "listener")
+        );
+        entries.add(entry);
+        return () -> entries.remove(entry);
+    }
+
+    void changed(final @NotNull Attribute<?, ?> attribute) {
+        for (final Entry entry : entries) entry.changed(attribute);
+    }
+
+    // Changes are collected per listener and handed over in one call when the executor gets to it,
+    // so a burst of writes before the executor runs turns into a single batch.
+    private final class Entry implements Runnable {
+        private final @Nullable Set<Attribute<?, ?>> attributes;
+        private final @NotNull Executor executor;
+        private final @NotNull AttributeListener listener;
+        private final @NotNull Set<Attribute<?, ?>> pending = ConcurrentHashMap.newKeySet();
+        private final @NotNull AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        private Entry(
+                final @Nullable Set<Attribute<?, ?>> attributes,
+                final @NotNull Executor executor,
+                final @NotNull AttributeListener listener
+        ) {
+            this.attributes = attributes;
+            this.executor = executor;
+            this.listener = listener;
+        }
+
+        private void changed(final @NotNull Attribute<?, ?> attribute) {
+            if (attributes != null && !attributes.contains(attribute)) return;
+            pending.add(attribute);
+            if (!scheduled.compareAndSet(false, true)) return;
+            try {
+                executor.execute(this);
+            } catch (final Throwable throwable) {
+                // the write already happened, keep the change pending for the next successful dispatch
+                scheduled.set(false);
+                logger.log(Level.WARNING, "Failed to dispatch attribute listener " + listener, throwable);
+            }
+        }
+
+        @Override
+        public void run() {
+            scheduled.set(false);
+            final List<Attribute<?, ?>> batch = new ArrayList<>();
+            for (final Iterator<Attribute<?, ?>> iterator = pending.iterator(); iterator.hasNext(); ) {
+                batch.add(iterator.next());
+                iterator.remove();
+            }
+            if (batch.isEmpty()) return;
+            try {
+                listener.onChange(owner, Collections.unmodifiableList(batch));
+            } catch (final Throwable throwable) {
+                logger.log(Level.WARNING, "Unhandled exception on attribute listener " + listener, throwable);
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.attribute;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import net.miaomoe.journey.annotation.Description;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static net.miaomoe.journey.utils.Preconditions.checkArgument;
+import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
+
+@SuppressWarnings("unused")
+@Description(description = {
+        "Ordered, named set of attributes with a fixed binary record layout:",
+        "presence bitmask words, then every field at a fixed offset (widest fields first to keep them aligned).",
+        "Names, types and widths are hashed, a MappedAttributeStore refuses to open a file written with another schema."
+})
+public final class AttributeSchema {
+    @Getter private final @NotNull List<Field> fields;
+    private final int @NotNull [] slots;
+    private final int presenceWords;
+    private final int recordSize;
+    private final long hash;
+
+    private AttributeSchema(final @NotNull List<Field> fields) {
+        this.fields = Collections.unmodifiableList(fields);
+        this.presenceWords = (fields.size() + 63) >>> 6;
+        int max = -1;
+        for (final Field field : fields) max = Math.max(max, field.attribute.index());
+        this.slots = new int[max + 1];
+        Arrays.fill(slots, -1);
+        long hash = 0xcbf29ce484222325L;
+        for (int slot = 0; slot < fields.size(); slot++) {
+            final Field field = fields.get(slot);
+            slots[field.attribute.index()] = slot;
+            for (final byte b : (field.name + ':' + field.type + field.width + ';').getBytes(StandardCharsets.UTF_8)) {
+                hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+            }
+        }
+        this.hash = hash;
+        final List<Field> byWidth = new ArrayList<>(fields);
+        byWidth.sort((a, b) -> Integer.compare(b.width, a.width));
+        int offset = presenceWords << 3;
+        for (final Field field : byWidth) {
+            field.offset = offset;
+            offset += field.width;
+        }
+        this.recordSize = (offset + 7) & ~7;
+    }
+
+    @Getter
+    public static final class Field {
+        private final @NotNull String name;
+        private final @NotNull Attribute<?, ?> attribute;
+        private final @NotNull AttributeCodec<?> codec;
+        private final char type;
+        private final int width;
+        @Description(description = "Offset of the value inside a record.")
+        private int offset;
+
+        private Field(final @NotNull String name, final @NotNull Attribute<?, ?> attribute, final @NotNull AttributeCodec<?> codec) {
+            this.name = name;
+            this.attribute = attribute;
+            this.codec = codec;
+            this.width = codec.width();
+            if (attribute instanceof BooleanAttribute) this.type = 'Z';
+            else if (attribute instanceof ByteAttribute) this.type = 'B';
+            else if (attribute instanceof IntAttribute) this.type = 'I';
+            else if (attribute instanceof FloatAttribute) this.type = 'F';
+            else if (attribute instanceof LongAttribute) this.type = 'J';
+            else if (attribute instanceof DoubleAttribute) this.type = 'D';
+            else this.type = 'L';
+        }
+
+        public boolean isPrimitive() {
+            return codec instanceof PrimitiveCodec;
+        }
+    }
+
+    public int size() {
+        return fields.size();
+    }
+
+    @Description(description = "Bytes of one record, a multiple of 8.")
+    public int recordSize() {
+        return recordSize;
+    }
+
+    int presenceWords() {
+        return presenceWords;
+    }
+
+    long hash() {
+        return hash;
+    }
+
+    @Description(description = "Position of the attribute in this schema, or -1 if it is not part of it.")
+    public int slot(final @NotNull Attribute<?, ?> attribute) {
+        final int index = checkNotNull(attribute, "attribute").index();
+        return index >= 0 && index < slots.length ? slots[index] : -1;
+    }
+
+    @Nullable Field field(final @NotNull Attribute<?, ?> attribute) {
+        final int slot = slot(attribute);
+        return slot < 0 ? null : fields.get(slot);
+    }
+
+    static int presenceOffset(final int slot) {
+        return (slot >>> 6) << 3;
+    }
+
+    static boolean isPresent(final @NotNull ByteBuffer buffer, final int offset, final int slot) {
+        return (buffer.getLong(offset + presenceOffset(slot)) & (1L << slot)) != 0L;
+    }
+
+    static void setPresent(final @NotNull ByteBuffer buffer, final int offset, final int slot, final boolean present) {
+        final int position = offset + presenceOffset(slot);
+        final long word = buffer.getLong(position);
+        buffer.putLong(position, present ? word | (1L << slot) : word & ~(1L << slot));
+    }
+
+    @Description(description = "Encode the schema attributes of the map into one record at offset. Other attributes are ignored.")
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void write(final @NotNull Attribute.AttributeMap source, final @NotNull ByteBuffer buffer, final int offset) {
+        checkNotNull(source, "source");
+        checkNotNull(buffer, "buffer");
+        for (int word = 0; word < presenceWords; word++) buffer.putLong(offset + (word << 3), 0L);
+        for (int slot = 0; slot < fields.size(); slot++) {
+            final Field field = fields.get(slot);
+            final Object value = source.getAttribute((Attribute) field.attribute).getAttributeValue();
+            if (value == null) continue;
+            ((AttributeCodec) field.codec).write(buffer, offset + field.offset, value);
+            setPresent(buffer, offset, slot, true);
+        }
+    }
+
+    @Description(description = "Decode a record written by write() into the map. Absent fields are removed from the map.")
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void read(final @NotNull ByteBuffer buffer, final int offset, final @NotNull Attribute.AttributeMap target) {
+        checkNotNull(buffer, "buffer");
+        checkNotNull(target, "target");
+        for (int slot = 0; slot < fields.size(); slot++) {
+            final Field field = fields.get(slot);
+            final Object value = isPresent(buffer, offset, slot) ? field.codec.read(buffer, offset + field.offset) : null;
+            target.setAttribute((Attribute) field.attribute, value);
+        }
+    }
+
+    public static @NotNull Builder builder() {
+        return new Builder();
+    }
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Builder {
+        private final @NotNull List<Field> fields = new ArrayList<>();
+        private final @NotNull Set<String> names = new HashSet<>();
+        private final @NotNull Set<Integer> indexes = new HashSet<>();
+
+        @Description(description = "Names identify the field in the file, renaming one invalidates existing files.")
+        public @NotNull Builder add(final @NotNull String name, final @NotNull Attribute<?, ?> attribute) {
+            checkArgument(names.add(checkNotNull(name, "name")), "Duplicate name: " + name);
+            final int index = checkNotNull(attribute, "attribute").index();
+            checkArgument(index >= 0, "Attribute must be created by its create() factory");
+            checkArgument(indexes.add(index), "Duplicate attribute: " + name);
+            final AttributeCodec<?> codec = attribute.codec();
+            checkArgument(codec != null, "Attribute " + name + " has no codec");
+            fields.add(new Field(name, attribute, codec));
+            return this;
+        }
+
+        public @NotNull AttributeSchema build() {
+            return new AttributeSchema(new ArrayList<>(fields));
+        }
+    }
+}
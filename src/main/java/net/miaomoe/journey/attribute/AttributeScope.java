@@ -0,0 +1,228 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.attribute;
+
+import lombok.Getter;
+import net.miaomoe.journey.annotation.Description;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
+
+@SuppressWarnings("unused")
+@Description(description = {
+        "Parent-linked AttributeMap. Writes go to this scope, lookups fall through to the parent when absent.",
+        "The map that owns a value is cached per scope and dropped when this scope or any parent changes.",
+        "Example chain: JourneyLoader (global) -> Journey -> player.",
+        "snapshot() flattens the whole chain, listeners only observe writes made to this scope."
+})
+public final class AttributeScope implements Attribute.AttributeMap {
+    @Getter private final @Nullable AttributeScope parent;
+    @Getter private final @NotNull Logger logger;
+    private final @NotNull ConcurrentAttributeMap local;
+    private volatile @NotNull Resolution resolution = Resolution.EMPTY;
+
+    private AttributeScope(final @Nullable AttributeScope parent, final @NotNull Logger logger) {
+        this.parent = parent;
+        this.logger = checkNotNull(logger, "logger");
+        this.local = new ConcurrentAttributeMap(this, logger);
+    }
+
+    public static @NotNull AttributeScope root() {
+        return root(Logger.getLogger(AttributeScope.class.getName()));
+    }
+
+    @Description(description = "Listener failures of this scope are logged to the logger, children inherit it.")
+    public static @NotNull AttributeScope root(final @NotNull Logger logger) {
+        return new AttributeScope(null, logger);
+    }
+
+    public @NotNull AttributeScope createChild() {
+        return createChild(logger);
+    }
+
+    public @NotNull AttributeScope createChild(final @NotNull Logger logger) {
+        return new AttributeScope(this, logger);
+    }
+
+    private static final class Resolution {
+        private static final Resolution EMPTY = new Resolution(-1L, new Attribute.AttributeMap[0]);
+
+        private final long version;
+        private final @Nullable Attribute.AttributeMap @NotNull [] owners;
+
+        private Resolution(final long version, final @Nullable Attribute.AttributeMap @NotNull [] owners) {
+            this.version = version;
+            this.owners = owners;
+        }
+    }
+
+    private long version() {
+        long version = 0L;
+        for (AttributeScope scope = this; scope != null; scope = scope.parent) version += scope.local.version();
+        return version;
+    }
+
+    private @NotNull Attribute.AttributeMap resolve(final @NotNull Attribute<?, ?> attribute) {
+        if (parent == null || local.contains(checkNotNull(attribute, "attribute"))) return local;
+        final int index = attribute.index();
+        if (index < 0) return parent.resolve(attribute);
+        // Versions only grow and are bumped after the write, so the sum changes whenever any scope in the chain did.
+        final long version = version();
+        Resolution resolution = this.resolution;
+        if (resolution.version != version || index >= resolution.owners.length) {
+            final int length = Math.max(index + 1, AttributeIndex.size());
+            this.resolution = resolution = new Resolution(
+                    version,
+                    resolution.version == version ? Arrays.copyOf(resolution.owners, length) : new Attribute.AttributeMap[length]
+            );
+        }
+        Attribute.AttributeMap owner = resolution.owners[index];
+        if (owner == null) resolution.owners[index] = owner = parent.resolve(attribute);
+        return owner;
+    }
+
+    @Override
+    public <T> void setAttribute(final @NotNull Attribute<T, ?> attribute, final @Nullable T value) {
+        local.setAttribute(attribute, value);
+    }
+
+    @Override
+    public <T, A extends Attribute<T, A>> @NotNull Attribute.Result<@Nullable T, A> getAttribute(final @NotNull A attribute) {
+        return resolve(attribute).getAttribute(attribute);
+    }
+
+    @Override
+    @Description(description = {
+            "Always creates the value in this scope, so mutating it never reaches a parent.",
+            "A primitive attribute starts from the inherited value, anything else from the supplier."
+    })
+    public <T, A extends Attribute<T, A>> @NotNull T getOrCreateAttribute(final @NotNull A attribute, final @NotNull Supplier<? extends T> supplier) {
+        checkNotNull(supplier, "supplier");
+        return local.getOrCreateAttribute(attribute, () -> {
+            final T inherited = parent == null ? null : parent.getAttribute(attribute).getAttributeValue();
+            return inherited != null && attribute instanceof PrimitiveAttribute ? copy(attribute, inherited) : supplier.get();
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> @NotNull T copy(final @NotNull Attribute<T, ?> attribute, final @NotNull T value) {
+        final PrimitiveCodec<T> codec = (PrimitiveCodec<T>) ((PrimitiveAttribute<T, ?>) attribute).codec();
+        return codec.fromBits(codec.toBits(value));
+    }
+
+    @Override
+    public <A extends BooleanAttribute<A>> boolean getBooleanAttribute(final @NotNull A attribute, final boolean defaultValue) {
+        return resolve(attribute).getBooleanAttribute(attribute, defaultValue);
+    }
+
+    @Override
+    public void setBooleanAttribute(final @NotNull BooleanAttribute<?> attribute, final boolean value) {
+        local.setBooleanAttribute(attribute, value);
+    }
+
+    @Override
+    public <A extends IntAttribute<A>> int getIntAttribute(final @NotNull A attribute, final int defaultValue) {
+        return resolve(attribute).getIntAttribute(attribute, defaultValue);
+    }
+
+    @Override
+    public void setIntAttribute(final @NotNull IntAttribute<?> attribute, final int value) {
+        local.setIntAttribute(attribute, value);
+    }
+
+    @Override
+    public <A extends LongAttribute<A>> long getLongAttribute(final @NotNull A attribute, final long defaultValue) {
+        return resolve(attribute).getLongAttribute(attribute, defaultValue);
+    }
+
+    @Override
+    public void setLongAttribute(final @NotNull LongAttribute<?> attribute, final long value) {
+        local.setLongAttribute(attribute, value);
+    }
+
+    @Override
+    public <A extends DoubleAttribute<A>> double getDoubleAttribute(final @NotNull A attribute, final double defaultValue) {
+        return resolve(attribute).getDoubleAttribute(attribute, defaultValue);
+    }
+
+    @Override
+    public void setDoubleAttribute(final @NotNull DoubleAttribute<?> attribute, final double value) {
+        local.setDoubleAttribute(attribute, value);
+    }
+
+    @Override
+    public <A extends ByteAttribute<A>> byte getByteAttribute(final @NotNull A attribute, final byte defaultValue) {
+        return resolve(attribute).getByteAttribute(attribute, defaultValue);
+    }
+
+    @Override
+    public void setByteAttribute(final @NotNull ByteAttribute<?> attribute, final byte value) {
+        local.setByteAttribute(attribute, value);
+    }
+
+    @Override
+    public <A extends FloatAttribute<A>> float getFloatAttribute(final @NotNull A attribute, final float defaultValue) {
+        return resolve(attribute).getFloatAttribute(attribute, defaultValue);
+    }
+
+    @Override
+    public void setFloatAttribute(final @NotNull FloatAttribute<?> attribute, final float value) {
+        local.setFloatAttribute(attribute, value);
+    }
+
+    private void copyChainInto(final @NotNull IndexedAttributeMap target) {
+        if (parent != null) parent.copyChainInto(target);
+        local.copyInto(target);
+    }
+
+    private long started() {
+        long started = 0L;
+        for (AttributeScope scope = this; scope != null; scope = scope.parent) started += scope.local.started();
+        return started;
+    }
+
+    @Override
+    public @NotNull Attribute.AttributeMap snapshot() {
+        while (true) {
+            final long version = version();
+            if (started() != version) {
+                Thread.yield();
+                continue;
+            }
+            final IndexedAttributeMap copy = new IndexedAttributeMap(false);
+            copyChainInto(copy);
+            if (started() == version) return copy.freeze(version);
+        }
+    }
+
+    @Override
+    public @NotNull AttributeListener.Registration addListener(
+            final @Nullable Collection<? extends Attribute<?, ?>> attributes,
+            final @NotNull Executor executor,
+            final @NotNull AttributeListener listener
+    ) {
+        return local.addListener(attributes, executor, listener);
+    }
+}
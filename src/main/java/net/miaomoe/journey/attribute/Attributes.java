@@ -17,6 +17,15 @@
 
 package net.miaomoe.journey.attribute;
 
+import net.miaomoe.journey.annotation.Description;
+import net.miaomoe.journey.utils.AsyncExecutor;
+
 public interface Attributes {
     BooleanAttribute.BooleanAttributeImpl SCHEDULE_DELAYED_CHECK = BooleanAttribute.create();
+    @Description(description = "Threads of the per-Journey async executor. Read once when the executor is created.")
+    IntAttribute.IntAttributeImpl ASYNC_POOL_SIZE = IntAttribute.create();
+    IntAttribute.IntAttributeImpl ASYNC_QUEUE_CAPACITY = IntAttribute.create();
+    ObjectAttribute.ObjectAttributeImpl<AsyncExecutor.RejectionPolicy> ASYNC_REJECTION_POLICY = ObjectAttribute.ofEnum(AsyncExecutor.RejectionPolicy.class);
+    @Description(description = "Time budget per tick of ThreadUtil.SERVER_THREAD_BUDGETED in microseconds.")
+    IntAttribute.IntAttributeImpl MAIN_THREAD_BUDGET_MICROS = IntAttribute.create();
 }
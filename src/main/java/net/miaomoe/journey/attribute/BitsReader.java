@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.attribute;
+
+import org.jetbrains.annotations.NotNull;
+
+@FunctionalInterface
+interface BitsReader {
+    long read(final @NotNull PrimitiveAttribute<?, ?> attribute, final @NotNull Object value);
+
+    // Slot marker of the array backed maps: the value lives in the bits array instead.
+    Object PRIMITIVE = new Object();
+
+    BitsReader BOOLEAN = (attribute, value) -> ((BooleanAttribute<?>) attribute).tryCastValue(value).getPrimitive() ? 1L : 0L;
+    BitsReader INT = (attribute, value) -> ((IntAttribute<?>) attribute).tryCastValue(value).getPrimitive();
+    BitsReader LONG = (attribute, value) -> ((LongAttribute<?>) attribute).tryCastValue(value).getPrimitive();
+    BitsReader BYTE = (attribute, value) -> ((ByteAttribute<?>) attribute).tryCastValue(value).getPrimitive();
+    BitsReader FLOAT = (attribute, value) -> Float.floatToRawIntBits(((FloatAttribute<?>) attribute).tryCastValue(value).getPrimitive());
+    BitsReader DOUBLE = (attribute, value) -> Double.doubleToRawLongBits(((DoubleAttribute<?>) attribute).tryCastValue(value).getPrimitive());
+}
@@ -19,10 +19,11 @@ package net.miaomoe.journey.attribute;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import net.miaomoe.journey.annotation.Description;
 import net.miaomoe.journey.utils.storage.primitive.BooleanStorage;
 import org.jetbrains.annotations.NotNull;
 
-public interface BooleanAttribute<T extends BooleanAttribute<T>> extends Attribute<BooleanStorage, T> {
+public interface BooleanAttribute<T extends BooleanAttribute<T>> extends PrimitiveAttribute<BooleanStorage, T> {
     @Override
     default BooleanStorage tryCastValue(final @NotNull Object o) throws ClassCastException {
         if (o instanceof Boolean)
@@ -32,8 +33,31 @@ public interface BooleanAttribute<T extends BooleanAttribute<T>> extends Attribu
         throw new ClassCastException("Cannot cast " + o + " to BooleanStorage");
     }
 
+    @Override
+    default @NotNull PrimitiveCodec<BooleanStorage> codec() {
+        return PrimitiveCodec.BOOLEAN;
+    }
+
+    @Description(description = "Dense index among boolean attributes only, the bit used by FlagSet. -1 if the attribute is not indexed.")
+    default int flagIndex() {
+        return -1;
+    }
+
     @NoArgsConstructor(access = AccessLevel.PRIVATE)
-    class BooleanAttributeImpl implements BooleanAttribute<BooleanAttributeImpl> {}
+    class BooleanAttributeImpl implements BooleanAttribute<BooleanAttributeImpl> {
+        private final int index = AttributeIndex.next();
+        private final int flagIndex = AttributeIndex.nextFlag();
+
+        @Override
+        public int index() {
+            return index;
+        }
+
+        @Override
+        public int flagIndex() {
+            return flagIndex;
+        }
+    }
 
     static BooleanAttributeImpl create() {
         return new BooleanAttributeImpl();
@@ -0,0 +1,308 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.attribute;
+
+import net.miaomoe.journey.annotation.Description;
+import net.miaomoe.journey.utils.storage.primitive.PrimitiveStorage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
+
+@SuppressWarnings("unused")
+@Description(description = {
+        "Lock-free AttributeMap. Indexed attributes live in a copy-on-write array of cells:",
+        "reads are wait-free, a write only copies the array the first time an attribute is stored.",
+        "Primitive attributes are kept as raw bits inside their cell, so their accessors do not allocate.",
+        "getAttribute returns a copy of such a value, writing to that copy does not change the map.",
+        "Attributes without an index fall back to a ConcurrentHashMap.",
+        "Writes are counted before and after they happen, snapshot() uses the counters like a seqlock",
+        "and hands out the same frozen copy until the next write."
+})
+public final class ConcurrentAttributeMap implements Attribute.AttributeMap {
+    private static final Cell[] EMPTY = new Cell[0];
+    private static final AtomicReferenceFieldUpdater<ConcurrentAttributeMap, Cell[]> CELLS =
+            AtomicReferenceFieldUpdater.newUpdater(ConcurrentAttributeMap.class, Cell[].class, "cells");
+
+    private static final AtomicReferenceFieldUpdater<Cell, Object> CELL_VALUE =
+            AtomicReferenceFieldUpdater.newUpdater(Cell.class, Object.class, "value");
+
+    private static final AtomicLongFieldUpdater<ConcurrentAttributeMap> STARTED =
+            AtomicLongFieldUpdater.newUpdater(ConcurrentAttributeMap.class, "started");
+    private static final AtomicLongFieldUpdater<ConcurrentAttributeMap> VERSION =
+            AtomicLongFieldUpdater.newUpdater(ConcurrentAttributeMap.class, "version");
+
+    private volatile Cell @NotNull [] cells = EMPTY;
+    private volatile long started = 0L;
+    private volatile long version = 0L;
+    private volatile @Nullable IndexedAttributeMap snapshot = null;
+    private final @NotNull Map<Attribute<?, ?>, Object> fallback = new ConcurrentHashMap<>();
+    private final @NotNull AttributeListeners listeners;
+
+    ConcurrentAttributeMap() {
+        this.listeners = new AttributeListeners(this, Logger.getLogger(ConcurrentAttributeMap.class.getName()));
+    }
+
+    ConcurrentAttributeMap(final @NotNull Attribute.AttributeMap owner, final @NotNull Logger logger) {
+        this.listeners = new AttributeListeners(owner, logger);
+    }
+
+    static final class Cell {
+        final @NotNull Attribute<?, ?> attribute;
+        volatile @Nullable Object value;
+        volatile long bits;
+
+        private Cell(final @NotNull Attribute<?, ?> attribute) {
+            this.attribute = attribute;
+        }
+    }
+
+    private @Nullable Cell cell(final int index) {
+        final Cell[] cells = this.cells;
+        return index < cells.length ? cells[index] : null;
+    }
+
+    private @NotNull Cell cellOrCreate(final @NotNull Attribute<?, ?> attribute, final int index) {
+        while (true) {
+            final Cell[] cells = this.cells;
+            Cell cell = index < cells.length ? cells[index] : null;
+            if (cell != null) return cell;
+            final Cell[] copy = Arrays.copyOf(cells, Math.max(cells.length, Math.max(index + 1, AttributeIndex.size())));
+            copy[index] = cell = new Cell(attribute);
+            if (CELLS.compareAndSet(this, cells, copy)) return cell;
+        }
+    }
+
+    @Description(description = "Incremented after every write. Used by AttributeScope to invalidate resolved lookups.")
+    long version() {
+        return version;
+    }
+
+    @Description(description = "Incremented before every write. Equal to version() when no write is in progress.")
+    long started() {
+        return started;
+    }
+
+    private void beginWrite() {
+        STARTED.incrementAndGet(this);
+    }
+
+    @Description(description = "Pass null when the write did not store anything (e.g. a lost race), listeners are then not notified.")
+    private void endWrite(final @Nullable Attribute<?, ?> changed) {
+        VERSION.incrementAndGet(this);
+        if (changed != null && !listeners.isEmpty()) listeners.changed(changed);
+    }
+
+    void copyInto(final @NotNull IndexedAttributeMap target) {
+        for (final Cell cell : cells) {
+            if (cell == null) continue;
+            final Object value = cell.value;
+            if (value == BitsReader.PRIMITIVE) {
+                target.putBits((PrimitiveAttribute<?, ?>) cell.attribute, cell.bits);
+            } else if (value != null) {
+                target.put(cell.attribute, value);
+            }
+        }
+        for (final Map.Entry<Attribute<?, ?>, Object> entry : fallback.entrySet()) target.put(entry.getKey(), entry.getValue());
+    }
+
+    boolean contains(final @NotNull Attribute<?, ?> attribute) {
+        final int index = checkNotNull(attribute, "attribute").index();
+        if (index < 0) return fallback.containsKey(attribute);
+        final Cell cell = cell(index);
+        return cell != null && cell.value != null;
+    }
+
+    private @Nullable Object lookup(final @NotNull Attribute<?, ?> attribute) {
+        final int index = checkNotNull(attribute, "attribute").index();
+        if (index < 0) return fallback.get(attribute);
+        final Cell cell = cell(index);
+        if (cell == null) return null;
+        final Object value = cell.value;
+        return value == BitsReader.PRIMITIVE ? ((PrimitiveAttribute<?, ?>) attribute).fromBits(cell.bits) : value;
+    }
+
+    private long getBits(final @NotNull PrimitiveAttribute<?, ?> attribute, final long defaultBits, final @NotNull BitsReader reader) {
+        final int index = checkNotNull(attribute, "attribute").index();
+        final Object value;
+        if (index < 0) {
+            value = fallback.get(attribute);
+        } else {
+            final Cell cell = cell(index);
+            if (cell == null || (value = cell.value) == null) return defaultBits;
+            if (value == BitsReader.PRIMITIVE) return cell.bits;
+        }
+        return value == null ? defaultBits : reader.read(attribute, value);
+    }
+
+    private void setBits(final @NotNull PrimitiveAttribute<?, ?> attribute, final long value) {
+        final int index = checkNotNull(attribute, "attribute").index();
+        beginWrite();
+        if (index < 0) {
+            fallback.put(attribute, attribute.fromBits(value));
+        } else {
+            final Cell cell = cellOrCreate(attribute, index);
+            cell.bits = value;
+            cell.value = BitsReader.PRIMITIVE;
+        }
+        endWrite(attribute);
+    }
+
+    @Override
+    public <T> void setAttribute(final @NotNull Attribute<T, ?> attribute, final @Nullable T original) {
+        final int index = checkNotNull(attribute, "attribute").index();
+        final T value = PrimitiveStorage.unfrozen(original);
+        beginWrite();
+        if (index < 0) {
+            if (value == null) fallback.remove(attribute); else fallback.put(attribute, value);
+        } else if (value != null) {
+            cellOrCreate(attribute, index).value = value;
+        } else {
+            final Cell cell = cell(index);
+            if (cell != null) cell.value = null;
+        }
+        endWrite(attribute);
+    }
+
+    @Override
+    public <T, A extends Attribute<T, A>> @NotNull T getOrCreateAttribute(final @NotNull A attribute, final @NotNull Supplier<? extends T> supplier) {
+        final int index = checkNotNull(attribute, "attribute").index();
+        checkNotNull(supplier, "supplier");
+        if (index < 0) {
+            final Object existing = fallback.get(attribute);
+            if (existing != null) return attribute.tryCastValue(existing);
+            final T created = PrimitiveStorage.unfrozen(checkNotNull(supplier.get(), "value"));
+            beginWrite();
+            final Object raced = fallback.putIfAbsent(attribute, created);
+            endWrite(raced == null ? attribute : null);
+            return raced == null ? created : attribute.tryCastValue(raced);
+        }
+        final Cell cell = cellOrCreate(attribute, index);
+        while (true) {
+            final Object existing = cell.value;
+            if (existing == BitsReader.PRIMITIVE) return attribute.tryCastValue(((PrimitiveAttribute<?, ?>) attribute).fromBits(cell.bits));
+            if (existing != null) return attribute.tryCastValue(existing);
+            final T created = PrimitiveStorage.unfrozen(checkNotNull(supplier.get(), "value"));
+            beginWrite();
+            final boolean stored = CELL_VALUE.compareAndSet(cell, null, created);
+            endWrite(stored ? attribute : null);
+            if (stored) return created;
+        }
+    }
+
+    @Override
+    public @NotNull Attribute.AttributeMap snapshot() {
+        while (true) {
+            final long version = this.version;
+            if (started != version) {
+                Thread.yield();
+                continue;
+            }
+            final IndexedAttributeMap cached = snapshot;
+            if (cached != null && cached.getSnapshotVersion() == version) return cached;
+            final IndexedAttributeMap copy = new IndexedAttributeMap(false);
+            copyInto(copy);
+            if (started == version) return snapshot = copy.freeze(version);
+        }
+    }
+
+    @Override
+    public @NotNull AttributeListener.Registration addListener(
+            final @Nullable Collection<? extends Attribute<?, ?>> attributes,
+            final @NotNull Executor executor,
+            final @NotNull AttributeListener listener
+    ) {
+        return listeners.add(attributes, executor, listener);
+    }
+
+    @Override
+    public <T, A extends Attribute<T, A>> @NotNull Attribute.Result<@Nullable T, A> getAttribute(final @NotNull A attribute) {
+        final Object value = lookup(attribute);
+        return Attribute.Result.of(attribute, value == null ? null : attribute.tryCastValue(value));
+    }
+
+    @Override
+    public <A extends BooleanAttribute<A>> boolean getBooleanAttribute(final @NotNull A attribute, final boolean defaultValue) {
+        return getBits(attribute, defaultValue ? 1L : 0L, BitsReader.BOOLEAN) != 0L;
+    }
+
+    @Override
+    public void setBooleanAttribute(final @NotNull BooleanAttribute<?> attribute, final boolean value) {
+        setBits(attribute, value ? 1L : 0L);
+    }
+
+    @Override
+    public <A extends IntAttribute<A>> int getIntAttribute(final @NotNull A attribute, final int defaultValue) {
+        return (int) getBits(attribute, defaultValue, BitsReader.INT);
+    }
+
+    @Override
+    public void setIntAttribute(final @NotNull IntAttribute<?> attribute, final int value) {
+        setBits(attribute, value);
+    }
+
+    @Override
+    public <A extends LongAttribute<A>> long getLongAttribute(final @NotNull A attribute, final long defaultValue) {
+        return getBits(attribute, defaultValue, BitsReader.LONG);
+    }
+
+    @Override
+    public void setLongAttribute(final @NotNull LongAttribute<?> attribute, final long value) {
+        setBits(attribute, value);
+    }
+
+    @Override
+    public <A extends DoubleAttribute<A>> double getDoubleAttribute(final @NotNull A attribute, final double defaultValue) {
+        return Double.longBitsToDouble(getBits(attribute, Double.doubleToRawLongBits(defaultValue), BitsReader.DOUBLE));
+    }
+
+    @Override
+    public void setDoubleAttribute(final @NotNull DoubleAttribute<?> attribute, final double value) {
+        setBits(attribute, Double.doubleToRawLongBits(value));
+    }
+
+    @Override
+    public <A extends ByteAttribute<A>> byte getByteAttribute(final @NotNull A attribute, final byte defaultValue) {
+        return (byte) getBits(attribute, defaultValue, BitsReader.BYTE);
+    }
+
+    @Override
+    public void setByteAttribute(final @NotNull ByteAttribute<?> attribute, final byte value) {
+        setBits(attribute, value);
+    }
+
+    @Override
+    public <A extends FloatAttribute<A>> float getFloatAttribute(final @NotNull A attribute, final float defaultValue) {
+        return Float.intBitsToFloat((int) getBits(attribute, Float.floatToRawIntBits(defaultValue), BitsReader.FLOAT));
+    }
+
+    @Override
+    public void setFloatAttribute(final @NotNull FloatAttribute<?> attribute, final float value) {
+        setBits(attribute, Float.floatToRawIntBits(value));
+    }
+}
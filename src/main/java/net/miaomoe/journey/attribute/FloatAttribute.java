@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.attribute;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import net.miaomoe.journey.utils.storage.primitive.FloatStorage;
+import org.jetbrains.annotations.NotNull;
+
+@SuppressWarnings("unused")
+public interface FloatAttribute<T extends FloatAttribute<T>> extends PrimitiveAttribute<FloatStorage, T> {
+    @Override
+    default FloatStorage tryCastValue(final @NotNull Object o) throws ClassCastException {
+        if (o instanceof Float)
+            return new FloatStorage((Float) o);
+        else if (o instanceof FloatStorage)
+            return (FloatStorage) o;
+        throw new ClassCastException("Cannot cast " + o + " to FloatStorage");
+    }
+
+    @Override
+    default @NotNull PrimitiveCodec<FloatStorage> codec() {
+        return PrimitiveCodec.FLOAT;
+    }
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    class FloatAttributeImpl implements FloatAttribute<FloatAttributeImpl> {
+        private final int index = AttributeIndex.next();
+
+        @Override
+        public int index() {
+            return index;
+        }
+    }
+
+    static FloatAttributeImpl create() {
+        return new FloatAttributeImpl();
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.attribute;
+
+import net.miaomoe.journey.annotation.Description;
+import net.miaomoe.journey.utils.storage.primitive.PrimitiveStorage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
+
+@SuppressWarnings("unused")
+@Description(description = {
+        "AttributeMap that stores indexed attributes in a growable array slot per Attribute#index().",
+        "Primitive attributes are kept as raw bits beside the slot, so their accessors do not allocate.",
+        "getAttribute returns a copy of such a value, writing to that copy does not change the map.",
+        "Attributes without an index (e.g. custom implementations) fall back to a HashMap.",
+        "snapshot() returns a frozen copy that rejects writes."
+})
+public final class IndexedAttributeMap implements Attribute.AttributeMap {
+    private final boolean synchronize;
+    private @Nullable Object @NotNull [] slots = new Object[AttributeIndex.size()];
+    private long @NotNull [] bits = new long[slots.length];
+    private @Nullable Map<Attribute<?, ?>, Object> fallback = null;
+    private boolean frozen = false;
+    private long snapshotVersion = -1L;
+
+    IndexedAttributeMap(final boolean synchronize) {
+        this.synchronize = synchronize;
+    }
+
+    private void ensureCapacity(final int index) {
+        if (index < slots.length) return;
+        final int length = Math.max(index + 1, AttributeIndex.size());
+        slots = Arrays.copyOf(slots, length);
+        bits = Arrays.copyOf(bits, length);
+    }
+
+    private @Nullable Object lookup(final @NotNull Attribute<?, ?> attribute) {
+        final int index = checkNotNull(attribute, "attribute").index();
+        if (index < 0) return fallback == null ? null : fallback.get(attribute);
+        if (index >= slots.length) return null;
+        final Object value = slots[index];
+        return value == BitsReader.PRIMITIVE ? ((PrimitiveAttribute<?, ?>) attribute).fromBits(bits[index]) : value;
+    }
+
+    void put(final @NotNull Attribute<?, ?> attribute, final @Nullable Object value) {
+        final int index = checkNotNull(attribute, "attribute").index();
+        if (index < 0) {
+            if (value != null) {
+                if (fallback == null) fallback = new HashMap<>();
+                fallback.put(attribute, value);
+            } else if (fallback != null) {
+                fallback.remove(attribute);
+            }
+        } else if (index < slots.length) {
+            slots[index] = value;
+        } else if (value != null) {
+            ensureCapacity(index);
+            slots[index] = value;
+        }
+    }
+
+    private void checkModifiable() {
+        if (frozen) throw new UnsupportedOperationException("Unmodifiable");
+    }
+
+    @NotNull IndexedAttributeMap freeze(final long version) {
+        this.frozen = true;
+        this.snapshotVersion = version;
+        return this;
+    }
+
+    long getSnapshotVersion() {
+        return snapshotVersion;
+    }
+
+    void copyInto(final @NotNull IndexedAttributeMap target) {
+        for (int index = 0; index < slots.length; index++) {
+            final Object value = slots[index];
+            if (value == BitsReader.PRIMITIVE) {
+                target.ensureCapacity(index);
+                target.slots[index] = BitsReader.PRIMITIVE;
+                target.bits[index] = bits[index];
+            } else if (value != null) {
+                target.ensureCapacity(index);
+                target.slots[index] = value;
+            }
+        }
+        if (fallback != null) for (final Map.Entry<Attribute<?, ?>, Object> entry : fallback.entrySet()) target.put(entry.getKey(), entry.getValue());
+    }
+
+    private long lookupBits(final @NotNull PrimitiveAttribute<?, ?> attribute, final long defaultBits, final @NotNull BitsReader reader) {
+        final int index = checkNotNull(attribute, "attribute").index();
+        final Object value;
+        if (index < 0) {
+            value = fallback == null ? null : fallback.get(attribute);
+        } else if (index >= slots.length || (value = slots[index]) == null) {
+            return defaultBits;
+        } else if (value == BitsReader.PRIMITIVE) {
+            return bits[index];
+        }
+        return value == null ? defaultBits : reader.read(attribute, value);
+    }
+
+    void putBits(final @NotNull PrimitiveAttribute<?, ?> attribute, final long value) {
+        final int index = checkNotNull(attribute, "attribute").index();
+        if (index < 0) {
+            put(attribute, attribute.fromBits(value));
+            return;
+        }
+        ensureCapacity(index);
+        slots[index] = BitsReader.PRIMITIVE;
+        bits[index] = value;
+    }
+
+    private long getBits(final @NotNull PrimitiveAttribute<?, ?> attribute, final long defaultBits, final @NotNull BitsReader reader) {
+        if (!synchronize) return lookupBits(attribute, defaultBits, reader);
+        synchronized (this) {
+            return lookupBits(attribute, defaultBits, reader);
+        }
+    }
+
+    private void setBits(final @NotNull PrimitiveAttribute<?, ?> attribute, final long value) {
+        checkModifiable();
+        if (!synchronize) {
+            putBits(attribute, value);
+            return;
+        }
+        synchronized (this) {
+            putBits(attribute, value);
+        }
+    }
+
+    private @Nullable Object get(final @NotNull Attribute<?, ?> attribute) {
+        if (!synchronize) return lookup(attribute);
+        synchronized (this) {
+            return lookup(attribute);
+        }
+    }
+
+    @Override
+    public <T> void setAttribute(final @NotNull Attribute<T, ?> attribute, final @Nullable T value) {
+        checkModifiable();
+        final T stored = PrimitiveStorage.unfrozen(value);
+        if (!synchronize) {
+            put(attribute, stored);
+            return;
+        }
+        synchronized (this) {
+            put(attribute, stored);
+        }
+    }
+
+    @Override
+    public <T, A extends Attribute<T, A>> @NotNull Attribute.Result<@Nullable T, A> getAttribute(final @NotNull A attribute) {
+        final Object value = get(attribute);
+        return Attribute.Result.of(attribute, value == null ? null : attribute.tryCastValue(value));
+    }
+
+    @Override
+    public <A extends BooleanAttribute<A>> boolean getBooleanAttribute(final @NotNull A attribute, final boolean defaultValue) {
+        return getBits(attribute, defaultValue ? 1L : 0L, BitsReader.BOOLEAN) != 0L;
+    }
+
+    @Override
+    public void setBooleanAttribute(final @NotNull BooleanAttribute<?> attribute, final boolean value) {
+        setBits(attribute, value ? 1L : 0L);
+    }
+
+    @Override
+    public <A extends IntAttribute<A>> int getIntAttribute(final @NotNull A attribute, final int defaultValue) {
+        return (int) getBits(attribute, defaultValue, BitsReader.INT);
+    }
+
+    @Override
+    public void setIntAttribute(final @NotNull IntAttribute<?> attribute, final int value) {
+        setBits(attribute, value);
+    }
+
+    @Override
+    public <A extends LongAttribute<A>> long getLongAttribute(final @NotNull A attribute, final long defaultValue) {
+        return getBits(attribute, defaultValue, BitsReader.LONG);
+    }
+
+    @Override
+    public void setLongAttribute(final @NotNull LongAttribute<?> attribute, final long value) {
+        setBits(attribute, value);
+    }
+
+    @Override
+    public <A extends DoubleAttribute<A>> double getDoubleAttribute(final @NotNull A attribute, final double defaultValue) {
+        return Double.longBitsToDouble(getBits(attribute, Double.doubleToRawLongBits(defaultValue), BitsReader.DOUBLE));
+    }
+
+    @Override
+    public void setDoubleAttribute(final @NotNull DoubleAttribute<?> attribute, final double value) {
+        setBits(attribute, Double.doubleToRawLongBits(value));
+    }
+
+    @Override
+    public <A extends ByteAttribute<A>> byte getByteAttribute(final @NotNull A attribute, final byte defaultValue) {
+        return (byte) getBits(attribute, defaultValue, BitsReader.BYTE);
+    }
+
+    @Override
+    public void setByteAttribute(final @NotNull ByteAttribute<?> attribute, final byte value) {
+        setBits(attribute, value);
+    }
+
+    @Override
+    public <A extends FloatAttribute<A>> float getFloatAttribute(final @NotNull A attribute, final float defaultValue) {
+        return Float.intBitsToFloat((int) getBits(attribute, Float.floatToRawIntBits(defaultValue), BitsReader.FLOAT));
+    }
+
+    @Override
+    public void setFloatAttribute(final @NotNull FloatAttribute<?> attribute, final float value) {
+        setBits(attribute, Float.floatToRawIntBits(value));
+    }
+
+    @Override
+    public <T, A extends Attribute<T, A>> @NotNull T getOrCreateAttribute(final @NotNull A attribute, final @NotNull Supplier<? extends T> supplier) {
+        if (!synchronize) return Attribute.AttributeMap.super.getOrCreateAttribute(attribute, supplier);
+        synchronized (this) {
+            return Attribute.AttributeMap.super.getOrCreateAttribute(attribute, supplier);
+        }
+    }
+
+    @Override
+    public @NotNull Attribute.AttributeMap snapshot() {
+        if (frozen) return this;
+        final IndexedAttributeMap copy = new IndexedAttributeMap(false);
+        if (!synchronize) {
+            copyInto(copy);
+        } else {
+            synchronized (this) {
+                copyInto(copy);
+            }
+        }
+        return copy.freeze(-1L);
+    }
+}
@@ -23,18 +23,30 @@ import net.miaomoe.journey.utils.storage.primitive.IntStorage;
 import org.jetbrains.annotations.NotNull;
 
 @SuppressWarnings("unused")
-public interface IntAttribute<T extends IntAttribute<T>> extends Attribute<IntStorage, T> {
+public interface IntAttribute<T extends IntAttribute<T>> extends PrimitiveAttribute<IntStorage, T> {
     @Override
     default IntStorage tryCastValue(final @NotNull Object o) throws ClassCastException {
         if (o instanceof Integer)
-            return new IntStorage((Integer)o);
+            return new IntStorage((Integer) o);
         else if (o instanceof IntStorage)
             return (IntStorage)o;
         throw new ClassCastException("Cannot cast " + o + " to IntStorage");
     }
 
+    @Override
+    default @NotNull PrimitiveCodec<IntStorage> codec() {
+        return PrimitiveCodec.INT;
+    }
+
     @NoArgsConstructor(access = AccessLevel.PRIVATE)
-    class IntAttributeImpl implements IntAttribute<IntAttributeImpl> {}
+    class IntAttributeImpl implements IntAttribute<IntAttributeImpl> {
+        private final int index = AttributeIndex.next();
+
+        @Override
+        public int index() {
+            return index;
+        }
+    }
 
     static IntAttributeImpl create() {
         return new IntAttributeImpl();
@@ -0,0 +1,355 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.attribute;
+
+import net.miaomoe.journey.annotation.Description;
+import net.miaomoe.journey.functions.extend.UUIDHolder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static net.miaomoe.journey.utils.Preconditions.checkArgument;
+import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
+
+@SuppressWarnings("unused")
+@Description(description = {
+        "Persistent per-player AttributeMaps backed by a memory-mapped file.",
+        "Layout: 32 byte header (magic, format, schema hash, record size, record count),",
+        "then fixed size records of [uuid msb, uuid lsb, AttributeSchema record].",
+        "Values are written in place. A background thread forces dirty pages to disk every flush interval,",
+        "so loading a player is a lookup in the in-memory uuid index plus reads of a single record."
+})
+public final class MappedAttributeStore implements Closeable {
+    private static final @NotNull Logger LOGGER = Logger.getLogger(MappedAttributeStore.class.getName());
+    private static final int MAGIC = 0x4a415452;
+    private static final int FORMAT = 2;
+    private static final int HEADER = 32;
+    private static final int COUNT_OFFSET = 20;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final @NotNull AttributeSchema schema;
+    private final @NotNull FileChannel channel;
+    private final int recordSize;
+    // a single MappedByteBuffer cannot address more than Integer.MAX_VALUE bytes
+    private final int maxCapacity;
+    private final @NotNull Map<UUID, Record> records = new ConcurrentHashMap<>();
+    private final @NotNull ScheduledExecutorService flusher;
+    private volatile @NotNull MappedByteBuffer buffer;
+    private int capacity;
+    private int count;
+    private volatile boolean dirty = false;
+    private volatile boolean closed = false;
+
+    private MappedAttributeStore(final @NotNull Path file, final @NotNull AttributeSchema schema, final long flushMillis) throws IOException {
+        this.schema = schema;
+        this.recordSize = 16 + schema.recordSize();
+        this.maxCapacity = (Integer.MAX_VALUE - HEADER) / recordSize;
+        checkArgument(maxCapacity > 0, "Record of " + recordSize + " bytes does not fit in an attribute store");
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            final long size = channel.size();
+            if (size == 0) {
+                this.capacity = Math.min(INITIAL_CAPACITY, maxCapacity);
+                this.buffer = map(capacity);
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, FORMAT);
+                buffer.putLong(8, schema.hash());
+                buffer.putInt(16, recordSize);
+                buffer.putInt(COUNT_OFFSET, 0);
+            } else {
+                checkArgument(size >= HEADER, "Corrupted attribute store: " + file);
+                this.capacity = (int) Math.min(Math.max(INITIAL_CAPACITY, (size - HEADER) / recordSize), maxCapacity);
+                this.buffer = map(capacity);
+                checkArgument(buffer.getInt(0) == MAGIC && buffer.getInt(4) == FORMAT, "Not an attribute store: " + file);
+                checkArgument(
+                        buffer.getLong(8) == schema.hash() && buffer.getInt(16) == recordSize,
+                        "Attribute store " + file + " was written with a different schema"
+                );
+                this.count = buffer.getInt(COUNT_OFFSET);
+                checkArgument(count >= 0 && count <= capacity, "Corrupted attribute store: " + file);
+                for (int index = 0; index < count; index++) {
+                    final int offset = HEADER + index * recordSize;
+                    records.put(new UUID(buffer.getLong(offset), buffer.getLong(offset + 8)), new Record(offset));
+                }
+            }
+        } catch (final IOException | RuntimeException exception) {
+            channel.close();
+            throw exception;
+        }
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "Journey-AttributeStore-Flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public static @NotNull MappedAttributeStore open(
+            final @NotNull Path file,
+            final @NotNull AttributeSchema schema,
+            final long flushInterval,
+            final @NotNull TimeUnit unit
+    ) throws IOException {
+        checkArgument(flushInterval > 0, "flushInterval must be positive");
+        return new MappedAttributeStore(
+                checkNotNull(file, "file"),
+                checkNotNull(schema, "schema"),
+                checkNotNull(unit, "unit").toMillis(flushInterval)
+        );
+    }
+
+    private @NotNull MappedByteBuffer map(final int capacity) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER + (long) capacity * recordSize);
+    }
+
+    public @NotNull AttributeSchema getSchema() {
+        return schema;
+    }
+
+    public int size() {
+        return records.size();
+    }
+
+    public boolean contains(final @NotNull UUID uuid) {
+        return records.containsKey(checkNotNull(uuid, "uuid"));
+    }
+
+    @Description(description = "Record of the player, appended to the file on first access.")
+    public @NotNull Attribute.AttributeMap get(final @NotNull UUID uuid) {
+        checkArgument(!closed, "Attribute store is closed");
+        final Record record = records.get(checkNotNull(uuid, "uuid"));
+        return record != null ? record : records.computeIfAbsent(uuid, this::append);
+    }
+
+    public @NotNull Attribute.AttributeMap get(final @NotNull UUIDHolder holder) {
+        return get(checkNotNull(holder, "holder").uuid());
+    }
+
+    private synchronized @NotNull Record append(final @NotNull UUID uuid) {
+        if (count == capacity) {
+            if (capacity == maxCapacity) throw new IllegalStateException("Attribute store is full (" + maxCapacity + " records)");
+            final int grown = (int) Math.min((long) capacity << 1, maxCapacity);
+            try {
+                // The old mapping stays valid and shares the page cache with the new one,
+                // readers still holding it observe the same bytes.
+                buffer = map(grown);
+                capacity = grown;
+            } catch (final IOException exception) {
+                throw new IllegalStateException("Cannot grow attribute store", exception);
+            }
+        }
+        final MappedByteBuffer buffer = this.buffer;
+        final int offset = HEADER + count * recordSize;
+        buffer.putLong(offset, uuid.getMostSignificantBits());
+        buffer.putLong(offset + 8, uuid.getLeastSignificantBits());
+        for (int position = offset + 16; position < offset + recordSize; position += 8) buffer.putLong(position, 0L);
+        buffer.putInt(COUNT_OFFSET, ++count);
+        dirty = true;
+        return new Record(offset);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (final RuntimeException exception) {
+            LOGGER.log(Level.WARNING, "Failed to flush attribute store", exception);
+        }
+    }
+
+    @Description(description = "Force pending writes to disk now instead of waiting for the background flush.")
+    public void flush() {
+        if (!dirty) return;
+        dirty = false;
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            dirty = true;
+            flush();
+            channel.close();
+        }
+    }
+
+    private final class Record implements Attribute.AttributeMap {
+        private final int offset;
+
+        private Record(final int offset) {
+            this.offset = offset + 16;
+        }
+
+        private @NotNull AttributeSchema.Field requireField(final @NotNull Attribute<?, ?> attribute) {
+            final AttributeSchema.Field field = schema.field(attribute);
+            checkArgument(field != null, "Attribute is not part of the schema");
+            return field;
+        }
+
+        private long readBits(final @NotNull PrimitiveAttribute<?, ?> attribute, final long defaultBits) {
+            final int slot = schema.slot(attribute);
+            if (slot < 0) return defaultBits;
+            final AttributeSchema.Field field = schema.getFields().get(slot);
+            final MappedByteBuffer buffer = MappedAttributeStore.this.buffer;
+            synchronized (this) {
+                if (!AttributeSchema.isPresent(buffer, offset, slot)) return defaultBits;
+                return ((PrimitiveCodec<?>) field.getCodec()).readBits(buffer, offset + field.getOffset());
+            }
+        }
+
+        private void writeBits(final @NotNull PrimitiveAttribute<?, ?> attribute, final long bits) {
+            final AttributeSchema.Field field = requireField(attribute);
+            final int slot = schema.slot(attribute);
+            final MappedByteBuffer buffer = MappedAttributeStore.this.buffer;
+            synchronized (this) {
+                checkArgument(!closed, "Attribute store is closed");
+                ((PrimitiveCodec<?>) field.getCodec()).writeBits(buffer, offset + field.getOffset(), bits);
+                AttributeSchema.setPresent(buffer, offset, slot, true);
+                dirty = true;
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> void setAttribute(final @NotNull Attribute<T, ?> attribute, final @Nullable T value) {
+            final AttributeSchema.Field field = requireField(attribute);
+            final int slot = schema.slot(attribute);
+            final MappedByteBuffer buffer = MappedAttributeStore.this.buffer;
+            synchronized (this) {
+                checkArgument(!closed, "Attribute store is closed");
+                if (value != null) ((AttributeCodec<T>) field.getCodec()).write(buffer, offset + field.getOffset(), value);
+                AttributeSchema.setPresent(buffer, offset, slot, value != null);
+                dirty = true;
+            }
+        }
+
+        @Override
+        public <T, A extends Attribute<T, A>> @NotNull Attribute.Result<@Nullable T, A> getAttribute(final @NotNull A attribute) {
+            final int slot = schema.slot(attribute);
+            if (slot < 0) return Attribute.Result.of(attribute, null);
+            final AttributeSchema.Field field = schema.getFields().get(slot);
+            final MappedByteBuffer buffer = MappedAttributeStore.this.buffer;
+            final Object value;
+            synchronized (this) {
+                if (!AttributeSchema.isPresent(buffer, offset, slot)) return Attribute.Result.of(attribute, null);
+                value = field.getCodec().read(buffer, offset + field.getOffset());
+            }
+            return Attribute.Result.of(attribute, attribute.tryCastValue(value));
+        }
+
+        @Override
+        public <A extends BooleanAttribute<A>> boolean getBooleanAttribute(final @NotNull A attribute, final boolean defaultValue) {
+            return readBits(attribute, defaultValue ? 1L : 0L) != 0L;
+        }
+
+        @Override
+        public void setBooleanAttribute(final @NotNull BooleanAttribute<?> attribute, final boolean value) {
+            writeBits(attribute, value ? 1L : 0L);
+        }
+
+        @Override
+        public <A extends IntAttribute<A>> int getIntAttribute(final @NotNull A attribute, final int defaultValue) {
+            return (int) readBits(attribute, defaultValue);
+        }
+
+        @Override
+        public void setIntAttribute(final @NotNull IntAttribute<?> attribute, final int value) {
+            writeBits(attribute, value);
+        }
+
+        @Override
+        public <A extends LongAttribute<A>> long getLongAttribute(final @NotNull A attribute, final long defaultValue) {
+            return readBits(attribute, defaultValue);
+        }
+
+        @Override
+        public void setLongAttribute(final @NotNull LongAttribute<?> attribute, final long value) {
+            writeBits(attribute, value);
+        }
+
+        @Override
+        public <A extends DoubleAttribute<A>> double getDoubleAttribute(final @NotNull A attribute, final double defaultValue) {
+            return Double.longBitsToDouble(readBits(attribute, Double.doubleToRawLongBits(defaultValue)));
+        }
+
+        @Override
+        public void setDoubleAttribute(final @NotNull DoubleAttribute<?> attribute, final double value) {
+            writeBits(attribute, Double.doubleToRawLongBits(value));
+        }
+
+        @Override
+        public <A extends ByteAttribute<A>> byte getByteAttribute(final @NotNull A attribute, final byte defaultValue) {
+            return (byte) readBits(attribute, defaultValue);
+        }
+
+        @Override
+        public void setByteAttribute(final @NotNull ByteAttribute<?> attribute, final byte value) {
+            writeBits(attribute, value);
+        }
+
+        @Override
+        public <A extends FloatAttribute<A>> float getFloatAttribute(final @NotNull A attribute, final float defaultValue) {
+            return Float.intBitsToFloat((int) readBits(attribute, Float.floatToRawIntBits(defaultValue)));
+        }
+
+        @Override
+        public void setFloatAttribute(final @NotNull FloatAttribute<?> attribute, final float value) {
+            writeBits(attribute, Float.floatToRawIntBits(value));
+        }
+
+        @Override
+        public @NotNull Attribute.AttributeMap snapshot() {
+            final IndexedAttributeMap copy = new IndexedAttributeMap(false);
+            final MappedByteBuffer buffer = MappedAttributeStore.this.buffer;
+            synchronized (this) {
+                for (int slot = 0; slot < schema.size(); slot++) {
+                    if (!AttributeSchema.isPresent(buffer, offset, slot)) continue;
+                    final AttributeSchema.Field field = schema.getFields().get(slot);
+                    final int position = offset + field.getOffset();
+                    if (field.isPrimitive()) {
+                        copy.putBits((PrimitiveAttribute<?, ?>) field.getAttribute(), ((PrimitiveCodec<?>) field.getCodec()).readBits(buffer, position));
+                    } else {
+                        copy.put(field.getAttribute(), field.getCodec().read(buffer, position));
+                    }
+                }
+            }
+            return copy.freeze(-1L);
+        }
+    }
+}
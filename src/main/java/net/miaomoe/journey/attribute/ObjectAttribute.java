@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.attribute;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import net.miaomoe.journey.annotation.Description;
+import net.miaomoe.journey.utils.storage.primitive.AtomicBooleanStorage;
+import net.miaomoe.journey.utils.storage.primitive.AtomicIntStorage;
+import net.miaomoe.journey.utils.storage.primitive.AtomicLongStorage;
+import net.miaomoe.journey.utils.storage.primitive.LongAdderStorage;
+import org.jetbrains.annotations.NotNull;
+
+import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
+
+@SuppressWarnings("unused")
+public interface ObjectAttribute<V, T extends ObjectAttribute<V, T>> extends Attribute<V, T> {
+    @NotNull Class<V> type();
+
+    @Override
+    @NotNull AttributeCodec<V> codec();
+
+    @Override
+    default V tryCastValue(final @NotNull Object o) throws ClassCastException {
+        return type().cast(o);
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    final class ObjectAttributeImpl<V> implements ObjectAttribute<V, ObjectAttributeImpl<V>> {
+        private final int index = AttributeIndex.next();
+        private final @NotNull Class<V> type;
+        private final @NotNull AttributeCodec<V> codec;
+
+        @Override
+        public int index() {
+            return index;
+        }
+
+        @Override
+        public @NotNull Class<V> type() {
+            return type;
+        }
+
+        @Override
+        public @NotNull AttributeCodec<V> codec() {
+            return codec;
+        }
+    }
+
+    static <V> ObjectAttributeImpl<V> create(final @NotNull Class<V> type, final @NotNull AttributeCodec<V> codec) {
+        return new ObjectAttributeImpl<>(checkNotNull(type, "type"), checkNotNull(codec, "codec"));
+    }
+
+    static <E extends Enum<E>> ObjectAttributeImpl<E> ofEnum(final @NotNull Class<E> type) {
+        return create(type, AttributeCodec.ofEnum(type));
+    }
+
+    @Description(description = "Shared AtomicIntStorage. Create it with AttributeMap#getOrCreateAttribute so every thread sees the same instance.")
+    static ObjectAttributeImpl<AtomicIntStorage> atomicInt() {
+        return create(AtomicIntStorage.class, new StorageCodec<>(4, AtomicIntStorage::getPrimitive, bits -> new AtomicIntStorage((int) bits)));
+    }
+
+    static ObjectAttributeImpl<AtomicLongStorage> atomicLong() {
+        return create(AtomicLongStorage.class, new StorageCodec<>(8, AtomicLongStorage::getPrimitive, AtomicLongStorage::new));
+    }
+
+    static ObjectAttributeImpl<AtomicBooleanStorage> atomicBoolean() {
+        return create(AtomicBooleanStorage.class, new StorageCodec<>(1, storage -> storage.getPrimitive() ? 1L : 0L, bits -> new AtomicBooleanStorage(bits != 0L)));
+    }
+
+    static ObjectAttributeImpl<LongAdderStorage> longAdder() {
+        return create(LongAdderStorage.class, new StorageCodec<>(8, LongAdderStorage::getPrimitive, LongAdderStorage::new));
+    }
+}
@@ -0,0 +1,382 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.attribute;
+
+import net.miaomoe.journey.annotation.Description;
+import net.miaomoe.journey.functions.extend.UUIDHolder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+import static net.miaomoe.journey.utils.Preconditions.checkArgument;
+import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
+
+@SuppressWarnings("unused")
+@Description(description = {
+        "Per-player primitive attributes kept outside the heap, for millions of (mostly offline) players.",
+        "Every player owns a row; every schema field is a column in its own direct ByteBuffer (struct of arrays),",
+        "plus a presence column and a uuid column. The uuid -> row index is an open-addressing table, also off-heap.",
+        "Removing a player moves the last row into its place, so rows stay dense for scans.",
+        "Not thread-safe: confine an arena to one thread or guard it externally."
+})
+public final class OffHeapAttributeArena {
+    private static final int INDEX_ENTRY = 20;
+
+    private final @NotNull AttributeSchema schema;
+    private final @NotNull PrimitiveCodec<?> @NotNull [] codecs;
+    private final int presenceBytes;
+    private @NotNull ByteBuffer uuids;
+    private @NotNull ByteBuffer presence;
+    private final @NotNull ByteBuffer @NotNull [] columns;
+    private @NotNull ByteBuffer index;
+    private int indexMask;
+    private int capacity;
+    private int size = 0;
+
+    public OffHeapAttributeArena(final @NotNull AttributeSchema schema, final int initialCapacity) {
+        this.schema = checkNotNull(schema, "schema");
+        checkArgument(initialCapacity > 0, "initialCapacity must be positive");
+        this.codecs = new PrimitiveCodec<?>[schema.size()];
+        for (int slot = 0; slot < codecs.length; slot++) {
+            final AttributeSchema.Field field = schema.getFields().get(slot);
+            checkArgument(field.isPrimitive(), "Off-heap arena only stores primitive attributes: " + field.getName());
+            codecs[slot] = (PrimitiveCodec<?>) field.getCodec();
+        }
+        this.presenceBytes = schema.presenceWords() << 3;
+        this.capacity = initialCapacity;
+        this.uuids = ByteBuffer.allocateDirect(capacity << 4);
+        this.presence = ByteBuffer.allocateDirect(capacity * presenceBytes);
+        this.columns = new ByteBuffer[codecs.length];
+        for (int slot = 0; slot < codecs.length; slot++) columns[slot] = ByteBuffer.allocateDirect(capacity * codecs[slot].width());
+        final int buckets = Integer.highestOneBit(Math.max(2, initialCapacity) - 1) << 2;
+        this.index = ByteBuffer.allocateDirect(buckets * INDEX_ENTRY);
+        this.indexMask = buckets - 1;
+    }
+
+    public OffHeapAttributeArena(final @NotNull AttributeSchema schema) {
+        this(schema, 1024);
+    }
+
+    public @NotNull AttributeSchema getSchema() {
+        return schema;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Description(description = "Approximate off-heap bytes held by this arena.")
+    public long memoryUsage() {
+        long total = uuids.capacity() + (long) presence.capacity() + index.capacity();
+        for (final ByteBuffer column : columns) total += column.capacity();
+        return total;
+    }
+
+    private static int hash(final long most, final long least) {
+        long h = most ^ least;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    private int bucket(final long most, final long least) {
+        int bucket = hash(most, least) & indexMask;
+        while (true) {
+            final int position = bucket * INDEX_ENTRY;
+            final int row = index.getInt(position + 16) - 1;
+            if (row < 0 || (index.getLong(position) == most && index.getLong(position + 8) == least)) return bucket;
+            bucket = (bucket + 1) & indexMask;
+        }
+    }
+
+    private int row(final long most, final long least) {
+        return index.getInt(bucket(most, least) * INDEX_ENTRY + 16) - 1;
+    }
+
+    private void putIndex(final long most, final long least, final int row) {
+        final int position = bucket(most, least) * INDEX_ENTRY;
+        index.putLong(position, most);
+        index.putLong(position + 8, least);
+        index.putInt(position + 16, row + 1);
+    }
+
+    private void removeIndex(final int removed) {
+        // Backward shift deletion keeps the linear probe sequences intact without tombstones.
+        int hole = removed;
+        int bucket = (hole + 1) & indexMask;
+        while (index.getInt(bucket * INDEX_ENTRY + 16) != 0) {
+            final int position = bucket * INDEX_ENTRY;
+            final int home = hash(index.getLong(position), index.getLong(position + 8)) & indexMask;
+            if (((bucket - home) & indexMask) >= ((bucket - hole) & indexMask)) {
+                copyEntry(bucket, hole);
+                hole = bucket;
+            }
+            bucket = (bucket + 1) & indexMask;
+        }
+        index.putInt(hole * INDEX_ENTRY + 16, 0);
+    }
+
+    private void copyEntry(final int from, final int to) {
+        final int source = from * INDEX_ENTRY, target = to * INDEX_ENTRY;
+        index.putLong(target, index.getLong(source));
+        index.putLong(target + 8, index.getLong(source + 8));
+        index.putInt(target + 16, index.getInt(source + 16));
+    }
+
+    private static @NotNull ByteBuffer grow(final @NotNull ByteBuffer buffer, final int bytes) {
+        final ByteBuffer grown = ByteBuffer.allocateDirect(bytes);
+        final ByteBuffer source = buffer.duplicate();
+        source.clear();
+        grown.put(source);
+        grown.clear();
+        return grown;
+    }
+
+    private void ensureCapacity() {
+        if (size == capacity) {
+            capacity <<= 1;
+            uuids = grow(uuids, capacity << 4);
+            presence = grow(presence, capacity * presenceBytes);
+            for (int slot = 0; slot < columns.length; slot++) columns[slot] = grow(columns[slot], capacity * codecs[slot].width());
+        }
+        if ((size + 1) << 1 > indexMask + 1) {
+            final int buckets = (indexMask + 1) << 1;
+            index = ByteBuffer.allocateDirect(buckets * INDEX_ENTRY);
+            indexMask = buckets - 1;
+            for (int row = 0; row < size; row++) putIndex(uuids.getLong(row << 4), uuids.getLong((row << 4) + 8), row);
+        }
+    }
+
+    public boolean contains(final @NotNull UUID uuid) {
+        return row(checkNotNull(uuid, "uuid").getMostSignificantBits(), uuid.getLeastSignificantBits()) >= 0;
+    }
+
+    private int rowOrCreate(final long most, final long least) {
+        final int row = row(most, least);
+        if (row >= 0) return row;
+        ensureCapacity();
+        final int created = size++;
+        uuids.putLong(created << 4, most);
+        uuids.putLong((created << 4) + 8, least);
+        for (int offset = 0; offset < presenceBytes; offset += 8) presence.putLong(created * presenceBytes + offset, 0L);
+        putIndex(most, least, created);
+        return created;
+    }
+
+    @Description(description = {
+            "View of the player's row, created on first access. The view stays valid while other players are removed,",
+            "writes through it after the player itself was removed throw IllegalArgumentException."
+    })
+    public @NotNull Attribute.AttributeMap get(final @NotNull UUID uuid) {
+        final long most = checkNotNull(uuid, "uuid").getMostSignificantBits(), least = uuid.getLeastSignificantBits();
+        return new Row(most, least, rowOrCreate(most, least));
+    }
+
+    public @NotNull Attribute.AttributeMap get(final @NotNull UUIDHolder holder) {
+        return get(checkNotNull(holder, "holder").uuid());
+    }
+
+    public boolean remove(final @NotNull UUID uuid) {
+        final long most = checkNotNull(uuid, "uuid").getMostSignificantBits(), least = uuid.getLeastSignificantBits();
+        final int bucket = bucket(most, least);
+        final int row = index.getInt(bucket * INDEX_ENTRY + 16) - 1;
+        if (row < 0) return false;
+        removeIndex(bucket);
+        final int last = --size;
+        if (row != last) {
+            final long lastMost = uuids.getLong(last << 4), lastLeast = uuids.getLong((last << 4) + 8);
+            uuids.putLong(row << 4, lastMost);
+            uuids.putLong((row << 4) + 8, lastLeast);
+            for (int offset = 0; offset < presenceBytes; offset += 8) {
+                presence.putLong(row * presenceBytes + offset, presence.getLong(last * presenceBytes + offset));
+            }
+            for (int slot = 0; slot < columns.length; slot++) {
+                final int width = codecs[slot].width();
+                codecs[slot].writeBits(columns[slot], row * width, codecs[slot].readBits(columns[slot], last * width));
+            }
+            putIndex(lastMost, lastLeast, row);
+        }
+        return true;
+    }
+
+    public void clear() {
+        size = 0;
+        for (int bucket = 0; bucket <= indexMask; bucket++) index.putInt(bucket * INDEX_ENTRY + 16, 0);
+    }
+
+    @FunctionalInterface
+    public interface RowVisitor {
+        void visit(final long uuidMost, final long uuidLeast, final long bits);
+    }
+
+    @Description(description = "Sequential scan of one column, visiting the raw bits of every row where the attribute is present.")
+    public void forEach(final @NotNull PrimitiveAttribute<?, ?> attribute, final @NotNull RowVisitor visitor) {
+        final int slot = schema.slot(attribute);
+        checkArgument(slot >= 0, "Attribute is not part of the schema");
+        checkNotNull(visitor, "visitor");
+        final PrimitiveCodec<?> codec = codecs[slot];
+        final ByteBuffer column = columns[slot];
+        final int width = codec.width();
+        for (int row = 0; row < size; row++) {
+            if (!AttributeSchema.isPresent(presence, row * presenceBytes, slot)) continue;
+            visitor.visit(uuids.getLong(row << 4), uuids.getLong((row << 4) + 8), codec.readBits(column, row * width));
+        }
+    }
+
+    private final class Row implements Attribute.AttributeMap {
+        private final long most, least;
+        private int row;
+
+        private Row(final long most, final long least, final int row) {
+            this.most = most;
+            this.least = least;
+            this.row = row;
+        }
+
+        @Description(description = "Current row of the player, -1 if removed. Rows move when other players are removed.")
+        private int resolve() {
+            final int row = this.row;
+            if (row >= 0 && row < size && uuids.getLong(row << 4) == most && uuids.getLong((row << 4) + 8) == least) return row;
+            return this.row = OffHeapAttributeArena.this.row(most, least);
+        }
+
+        private int requireRow() {
+            final int row = resolve();
+            checkArgument(row >= 0, "Player was removed from the arena");
+            return row;
+        }
+
+        private int requireSlot(final @NotNull Attribute<?, ?> attribute) {
+            final int slot = schema.slot(attribute);
+            checkArgument(slot >= 0, "Attribute is not part of the schema");
+            return slot;
+        }
+
+        private long readBits(final @NotNull PrimitiveAttribute<?, ?> attribute, final long defaultBits) {
+            final int slot = schema.slot(attribute);
+            final int row;
+            if (slot < 0 || (row = resolve()) < 0 || !AttributeSchema.isPresent(presence, row * presenceBytes, slot)) return defaultBits;
+            return codecs[slot].readBits(columns[slot], row * codecs[slot].width());
+        }
+
+        private void writeBits(final @NotNull PrimitiveAttribute<?, ?> attribute, final long bits) {
+            final int slot = requireSlot(attribute);
+            final int row = requireRow();
+            codecs[slot].writeBits(columns[slot], row * codecs[slot].width(), bits);
+            AttributeSchema.setPresent(presence, row * presenceBytes, slot, true);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> void setAttribute(final @NotNull Attribute<T, ?> attribute, final @Nullable T value) {
+            final int slot = requireSlot(attribute);
+            final int row = requireRow();
+            if (value != null) {
+                final PrimitiveCodec<T> codec = (PrimitiveCodec<T>) codecs[slot];
+                codec.writeBits(columns[slot], row * codec.width(), codec.toBits(attribute.tryCastValue(value)));
+            }
+            AttributeSchema.setPresent(presence, row * presenceBytes, slot, value != null);
+        }
+
+        @Override
+        public <T, A extends Attribute<T, A>> @NotNull Attribute.Result<@Nullable T, A> getAttribute(final @NotNull A attribute) {
+            final int slot = schema.slot(attribute);
+            final int row;
+            if (slot < 0 || (row = resolve()) < 0 || !AttributeSchema.isPresent(presence, row * presenceBytes, slot)) {
+                return Attribute.Result.of(attribute, null);
+            }
+            return Attribute.Result.of(attribute, attribute.tryCastValue(codecs[slot].read(columns[slot], row * codecs[slot].width())));
+        }
+
+        @Override
+        public <A extends BooleanAttribute<A>> boolean getBooleanAttribute(final @NotNull A attribute, final boolean defaultValue) {
+            return readBits(attribute, defaultValue ? 1L : 0L) != 0L;
+        }
+
+        @Override
+        public void setBooleanAttribute(final @NotNull BooleanAttribute<?> attribute, final boolean value) {
+            writeBits(attribute, value ? 1L : 0L);
+        }
+
+        @Override
+        public <A extends IntAttribute<A>> int getIntAttribute(final @NotNull A attribute, final int defaultValue) {
+            return (int) readBits(attribute, defaultValue);
+        }
+
+        @Override
+        public void setIntAttribute(final @NotNull IntAttribute<?> attribute, final int value) {
+            writeBits(attribute, value);
+        }
+
+        @Override
+        public <A extends LongAttribute<A>> long getLongAttribute(final @NotNull A attribute, final long defaultValue) {
+            return readBits(attribute, defaultValue);
+        }
+
+        @Override
+        public void setLongAttribute(final @NotNull LongAttribute<?> attribute, final long value) {
+            writeBits(attribute, value);
+        }
+
+        @Override
+        public <A extends DoubleAttribute<A>> double getDoubleAttribute(final @NotNull A attribute, final double defaultValue) {
+            return Double.longBitsToDouble(readBits(attribute, Double.doubleToRawLongBits(defaultValue)));
+        }
+
+        @Override
+        public void setDoubleAttribute(final @NotNull DoubleAttribute<?> attribute, final double value) {
+            writeBits(attribute, Double.doubleToRawLongBits(value));
+        }
+
+        @Override
+        public <A extends ByteAttribute<A>> byte getByteAttribute(final @NotNull A attribute, final byte defaultValue) {
+            return (byte) readBits(attribute, defaultValue);
+        }
+
+        @Override
+        public void setByteAttribute(final @NotNull ByteAttribute<?> attribute, final byte value) {
+            writeBits(attribute, value);
+        }
+
+        @Override
+        public <A extends FloatAttribute<A>> float getFloatAttribute(final @NotNull A attribute, final float defaultValue) {
+            return Float.intBitsToFloat((int) readBits(attribute, Float.floatToRawIntBits(defaultValue)));
+        }
+
+        @Override
+        public void setFloatAttribute(final @NotNull FloatAttribute<?> attribute, final float value) {
+            writeBits(attribute, Float.floatToRawIntBits(value));
+        }
+
+        @Override
+        public @NotNull Attribute.AttributeMap snapshot() {
+            final IndexedAttributeMap copy = new IndexedAttributeMap(false);
+            final int row = resolve();
+            if (row >= 0) {
+                for (int slot = 0; slot < codecs.length; slot++) {
+                    if (!AttributeSchema.isPresent(presence, row * presenceBytes, slot)) continue;
+                    copy.putBits((PrimitiveAttribute<?, ?>) schema.getFields().get(slot).getAttribute(), codecs[slot].readBits(columns[slot], row * codecs[slot].width()));
+                }
+            }
+            return copy.freeze(-1L);
+        }
+    }
+}
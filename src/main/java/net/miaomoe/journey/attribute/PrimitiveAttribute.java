@@ -0,0 +1,31 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.attribute;
+
+import net.miaomoe.journey.annotation.Description;
+import org.jetbrains.annotations.NotNull;
+
+@Description(description = "Attribute whose value can be stored as raw 64 bits by primitive-specialized maps.")
+public interface PrimitiveAttribute<T, O extends PrimitiveAttribute<T, O>> extends Attribute<T, O> {
+    @Override
+    @NotNull PrimitiveCodec<T> codec();
+
+    default @NotNull T fromBits(final long bits) {
+        return codec().fromBits(bits);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.attribute;
+
+import net.miaomoe.journey.annotation.Description;
+import net.miaomoe.journey.utils.storage.primitive.BooleanStorage;
+import net.miaomoe.journey.utils.storage.primitive.ByteStorage;
+import net.miaomoe.journey.utils.storage.primitive.DoubleStorage;
+import net.miaomoe.journey.utils.storage.primitive.FloatStorage;
+import net.miaomoe.journey.utils.storage.primitive.IntStorage;
+import net.miaomoe.journey.utils.storage.primitive.LongStorage;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+@SuppressWarnings("unused")
+@Description(description = {
+        "Codec of the primitive attribute families. The value travels as the same raw bits the attribute maps keep,",
+        "so readBits/writeBits move a value between a map and a buffer without creating a storage object."
+})
+public final class PrimitiveCodec<T> implements AttributeCodec<T> {
+    public static final @NotNull PrimitiveCodec<BooleanStorage> BOOLEAN =
+            new PrimitiveCodec<>(1, storage -> storage.getPrimitive() ? 1L : 0L, bits -> new BooleanStorage(bits != 0L));
+    public static final @NotNull PrimitiveCodec<ByteStorage> BYTE =
+            new PrimitiveCodec<>(1, ByteStorage::getPrimitive, bits -> new ByteStorage((byte) bits));
+    public static final @NotNull PrimitiveCodec<IntStorage> INT =
+            new PrimitiveCodec<>(4, IntStorage::getPrimitive, bits -> new IntStorage((int) bits));
+    public static final @NotNull PrimitiveCodec<FloatStorage> FLOAT =
+            new PrimitiveCodec<>(4, storage -> Float.floatToRawIntBits(storage.getPrimitive()), bits -> new FloatStorage(Float.intBitsToFloat((int) bits)));
+    public static final @NotNull PrimitiveCodec<LongStorage> LONG =
+            new PrimitiveCodec<>(8, LongStorage::getPrimitive, LongStorage::new);
+    public static final @NotNull PrimitiveCodec<DoubleStorage> DOUBLE =
+            new PrimitiveCodec<>(8, storage -> Double.doubleToRawLongBits(storage.getPrimitive()), bits -> new DoubleStorage(Double.longBitsToDouble(bits)));
+
+    private final int width;
+    private final @NotNull ToLongFunction<T> toBits;
+    private final @NotNull LongFunction<T> fromBits;
+
+    private PrimitiveCodec(final int width, final @NotNull ToLongFunction<T> toBits, final @NotNull LongFunction<T> fromBits) {
+        this.width = width;
+        this.toBits = toBits;
+        this.fromBits = fromBits;
+    }
+
+    @Override
+    public int width() {
+        return width;
+    }
+
+    public long toBits(final @NotNull T value) {
+        return toBits.applyAsLong(value);
+    }
+
+    public @NotNull T fromBits(final long bits) {
+        return fromBits.apply(bits);
+    }
+
+    public long readBits(final @NotNull ByteBuffer buffer, final int offset) {
+        switch (width) {
+            case 1: return buffer.get(offset);
+            case 4: return buffer.getInt(offset);
+            default: return buffer.getLong(offset);
+        }
+    }
+
+    public void writeBits(final @NotNull ByteBuffer buffer, final int offset, final long bits) {
+        switch (width) {
+            case 1: buffer.put(offset, (byte) bits); break;
+            case 4: buffer.putInt(offset, (int) bits); break;
+            default: buffer.putLong(offset, bits);
+        }
+    }
+
+    @Override
+    public void write(final @NotNull ByteBuffer buffer, final int offset, final @NotNull T value) {
+        writeBits(buffer, offset, toBits(value));
+    }
+
+    @Override
+    public @NotNull T read(final @NotNull ByteBuffer buffer, final int offset) {
+        return fromBits(readBits(buffer, offset));
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.attribute;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+// Codec of mutable storages held as objects (e.g. AtomicIntStorage). Unlike PrimitiveCodec the maps keep the instance itself.
+final class StorageCodec<T> implements AttributeCodec<T> {
+    private final int width;
+    private final @NotNull ToLongFunction<T> toBits;
+    private final @NotNull LongFunction<T> fromBits;
+
+    StorageCodec(final int width, final @NotNull ToLongFunction<T> toBits, final @NotNull LongFunction<T> fromBits) {
+        this.width = width;
+        this.toBits = toBits;
+        this.fromBits = fromBits;
+    }
+
+    @Override
+    public int width() {
+        return width;
+    }
+
+    @Override
+    public void write(final @NotNull ByteBuffer buffer, final int offset, final @NotNull T value) {
+        final long bits = toBits.applyAsLong(value);
+        switch (width) {
+            case 1: buffer.put(offset, (byte) bits); break;
+            case 4: buffer.putInt(offset, (int) bits); break;
+            default: buffer.putLong(offset, bits);
+        }
+    }
+
+    @Override
+    public @NotNull T read(final @NotNull ByteBuffer buffer, final int offset) {
+        switch (width) {
+            case 1: return fromBits.apply(buffer.get(offset));
+            case 4: return fromBits.apply(buffer.getInt(offset));
+            default: return fromBits.apply(buffer.getLong(offset));
+        }
+    }
+}
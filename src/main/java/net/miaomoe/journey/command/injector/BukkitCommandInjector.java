@@ -22,7 +22,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.SneakyThrows;
 import net.miaomoe.journey.Journey;
-import net.miaomoe.journey.utils.Lazy;
+import net.miaomoe.journey.utils.ConcurrentLazy;
+import net.miaomoe.journey.utils.LazyWarmup;
 import net.miaomoe.journey.utils.ThreadUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.command.PluginCommand;
@@ -44,22 +45,22 @@ public final class BukkitCommandInjector {
     @Getter private static final BukkitCommandInjector instance = new BukkitCommandInjector();
 
     // maybe not exist in legacy server
-    private final Lazy<MethodHandle> syncCommandMethod = new Lazy<>(() ->
+    private final ConcurrentLazy<MethodHandle> syncCommandMethod = LazyWarmup.register("BukkitCommandInjector.syncCommandMethod", new ConcurrentLazy<>(() ->
             MethodHandles.
                     publicLookup()
                     .findVirtual(Bukkit.getServer().getClass(), "syncCommands", MethodType.methodType(void.class))
-    );
-    private final Lazy<MethodHandle> commandsMap = new Lazy<>(() ->
+    ));
+    private final ConcurrentLazy<MethodHandle> commandsMap = LazyWarmup.register("BukkitCommandInjector.commandsMap", new ConcurrentLazy<>(() ->
             MethodHandles
                     .publicLookup()
                     .findVirtual(Bukkit.getServer().getClass(), "getCommandMap", MethodType.methodType(SimpleCommandMap.class))
-    );
+    ));
 
-    @Getter(AccessLevel.PROTECTED) final Lazy<MethodHandle> pluginCommandConstructor = new Lazy<>(() -> {
+    @Getter(AccessLevel.PROTECTED) final ConcurrentLazy<MethodHandle> pluginCommandConstructor = LazyWarmup.register("BukkitCommandInjector.pluginCommandConstructor", new ConcurrentLazy<>(() -> {
         final Constructor<PluginCommand> pluginCommandConstructor = PluginCommand.class.getDeclaredConstructor(String.class, Plugin.class);
         pluginCommandConstructor.setAccessible(true);
         return MethodHandles.lookup().unreflectConstructor(pluginCommandConstructor);
-    });
+    }));
 
     public @NotNull SimpleCommandMap getCommandMap() {
         try {
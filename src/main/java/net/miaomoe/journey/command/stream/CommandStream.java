@@ -51,7 +51,7 @@ public final class CommandStream extends AbstractCommandStream<CommandStream> {
                         if (sender instanceof Player && !((Player) sender).isOnline()) return;
                         Optional
                                 .ofNullable(((StreamBreakException) e).getResult())
-                                .ifPresent(it -> it.forEach(msg -> invocation().getSender().sendMessage(PresetsSerializer.miniMessage, msg)));
+                                .ifPresent(it -> invocation().getSender().sendMessage(PresetsSerializer.miniMessage, it));
                     } else {
                         journey.getPlugin().getLogger().log(Level.WARNING, "Unhandled exception on stream commands. - Thread " + Thread.currentThread().getName(), e);
                     }
@@ -18,6 +18,7 @@
 package net.miaomoe.journey.modules;
 
 import net.miaomoe.journey.Journey;
+import net.miaomoe.journey.modules.impl.Broadcaster;
 import net.miaomoe.journey.modules.impl.ClientVersion;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.PluginManager;
@@ -44,5 +45,6 @@ public interface Module {
         }
          */
         add(ClientVersion::new);
+        add(Broadcaster::new);
     }};
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.modules.impl;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+import net.kyori.adventure.translation.GlobalTranslator;
+import net.kyori.adventure.translation.Translator;
+import net.md_5.bungee.api.ChatColor;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.chat.ComponentSerializer;
+import net.miaomoe.journey.Journey;
+import net.miaomoe.journey.adventure.PresetsSerializer;
+import net.miaomoe.journey.annotation.Description;
+import net.miaomoe.journey.modules.Module;
+import net.miaomoe.journey.utils.Preconditions;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
+
+@Getter
+@SuppressWarnings("unused")
+@Description(description = "按 (协议版本是否支持RGB颜色, 客户端语言) 将玩家分组, 每组只渲染和序列化一次消息")
+public class Broadcaster implements Module {
+    @Description(description = "1.16 起客户端支持RGB颜色, 更早的版本需要降级到16色")
+    public static final int HEX_COLOR_PROTOCOL = 735;
+
+    @Description(description = "服务端的 bungee chat 能否解析RGB颜色 (ChatColor#of 于 1.16 加入). 不能时所有玩家都降级到16色")
+    public static final boolean SERVER_HEX_COLOR = hasChatColorOf();
+
+    private final @NotNull Journey<?> journey;
+    @Getter(AccessLevel.NONE) private final Map<String, Locale> locales = new ConcurrentHashMap<>();
+
+    public Broadcaster(final Journey<?> journey) {
+        this.journey = Preconditions.checkNotNull(journey, "journey");
+    }
+
+    @Description(description = "发送给所有在线玩家和控制台. 返回实际序列化的次数")
+    public int broadcast(final @NotNull Component component) {
+        checkNotNull(component, "component");
+        Bukkit.getConsoleSender().sendMessage(PresetsSerializer.serialize(
+                PresetsSerializer.legacySection,
+                GlobalTranslator.render(component, Locale.getDefault())
+        ));
+        return broadcast(Bukkit.getOnlinePlayers(), component);
+    }
+
+    public int broadcast(final @NotNull Iterable<? extends Player> players, final @NotNull Component component) {
+        checkNotNull(players, "players");
+        checkNotNull(component, "component");
+        final ClientVersion clientVersion = journey.getModule(ClientVersion.class);
+        final Map<Bucket, List<Player>> buckets = new HashMap<>();
+        for (final Player player : players) {
+            final boolean hexColor = SERVER_HEX_COLOR && supportsHexColor(clientVersion, player);
+            buckets.computeIfAbsent(new Bucket(hexColor, locale(player)), key -> new ArrayList<>()).add(player);
+        }
+        final Map<Locale, Component> rendered = new HashMap<>();
+        for (final Map.Entry<Bucket, List<Player>> entry : buckets.entrySet()) {
+            final Bucket bucket = entry.getKey();
+            // one broken bucket (e.g. a translation the parser rejects) must not stop the others
+            try {
+                final Component localized = rendered.computeIfAbsent(bucket.locale, locale -> GlobalTranslator.render(component, locale));
+                final GsonComponentSerializer serializer = bucket.hexColor
+                        ? GsonComponentSerializer.gson()
+                        : GsonComponentSerializer.colorDownsamplingGson();
+                // the packet only holds the components and encodes them on the netty thread
+                final BaseComponent[] message = ComponentSerializer.parse(serializer.serialize(localized));
+                for (final Player player : entry.getValue()) player.spigot().sendMessage(message);
+            } catch (final RuntimeException exception) {
+                journey.getPlugin().getLogger().log(
+                        Level.WARNING,
+                        "Failed to broadcast to " + entry.getValue().size() + " players (" + bucket + ")",
+                        exception
+                );
+            }
+        }
+        return buckets.size();
+    }
+
+    private static boolean hasChatColorOf() {
+        try {
+            ChatColor.class.getMethod("of", String.class);
+            return true;
+        } catch (final NoSuchMethodException exception) {
+            return false;
+        }
+    }
+
+    private static boolean supportsHexColor(final @NotNull ClientVersion clientVersion, final @NotNull Player player) {
+        try {
+            return clientVersion.protocolVersion(player) >= HEX_COLOR_PROTOCOL;
+        } catch (final IllegalArgumentException exception) {
+            // unknown version, downsampling is always safe
+            return false;
+        }
+    }
+
+    private @NotNull Locale locale(final @NotNull Player player) {
+        final String tag = player.spigot().getLocale();
+        if (tag == null || tag.isEmpty()) return Locale.US;
+        return locales.computeIfAbsent(tag, key -> {
+            final Locale parsed = Translator.parseLocale(key);
+            return parsed == null ? Locale.US : parsed;
+        });
+    }
+
+    @ToString
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class Bucket {
+        private final boolean hexColor;
+        private final @NotNull Locale locale;
+    }
+}
@@ -21,7 +21,8 @@ import lombok.Getter;
 import net.miaomoe.journey.Journey;
 import net.miaomoe.journey.functions.exceptionally.ExceptionFunction;
 import net.miaomoe.journey.modules.Module;
-import net.miaomoe.journey.utils.Lazy;
+import net.miaomoe.journey.utils.ConcurrentLazy;
+import net.miaomoe.journey.utils.LazyWarmup;
 import net.miaomoe.journey.utils.Preconditions;
 import org.bukkit.Bukkit;
 import org.bukkit.UnsafeValues;
@@ -45,7 +46,7 @@ public class ClientVersion implements Module {
 
     private static boolean isInstalled(final @NotNull String plugin) { return Bukkit.getPluginManager().isPluginEnabled(plugin); }
 
-    private static final Lazy<Function<Player, OptionalInt>> paperPlayerVersion = new Lazy<>(() -> {
+    private static final ConcurrentLazy<Function<Player, OptionalInt>> paperPlayerVersion = LazyWarmup.register("ClientVersion.paperPlayerVersion", new ConcurrentLazy<>(() -> {
         final MethodHandle handle = MethodHandles
                 .publicLookup()
                 .findVirtual(
@@ -54,9 +55,9 @@ public class ClientVersion implements Module {
                         MethodType.methodType(int.class)
                 );
         return asOptionalFunction(handle::invoke);
-    });
+    }));
 
-    private static final Lazy<Function<Player, OptionalInt>> viaVersion = new Lazy<>(() -> {
+    private static final ConcurrentLazy<Function<Player, OptionalInt>> viaVersion = LazyWarmup.register("ClientVersion.viaVersion", new ConcurrentLazy<>(() -> {
         Preconditions.checkArgument(isInstalled("ViaVersion"), "ViaVersion not installed");
         final String prefix = "com.viaversion.viaversion.api.";
         final Object via = MethodHandles
@@ -70,9 +71,9 @@ public class ClientVersion implements Module {
                 .publicLookup()
                 .findVirtual(via.getClass(), "getPlayerVersion", MethodType.methodType(int.class, Player.class));
         return asOptionalFunction(player -> playerVersion.invoke(via, player));
-    });
+    }));
 
-    private static final Lazy<Function<Player, OptionalInt>> protocolLib = new Lazy<>(() -> {
+    private static final ConcurrentLazy<Function<Player, OptionalInt>> protocolLib = LazyWarmup.register("ClientVersion.protocolLib", new ConcurrentLazy<>(() -> {
         Preconditions.checkArgument(isInstalled("ProtocolLib"), "ProtocolLib is not installed");
         final String prefix = "com.comphenix.protocol.";
         final Object protocolManager = MethodHandles
@@ -86,9 +87,9 @@ public class ClientVersion implements Module {
                 .publicLookup()
                 .findVirtual(protocolManager.getClass(), "getProtocolVersion", MethodType.methodType(int.class, Player.class));
         return asOptionalFunction(player -> playerVersion.invoke(protocolManager, player));
-    });
+    }));
 
-    private static final Lazy<Function<Player, OptionalInt>> packetEvents = new Lazy<>(() -> {
+    private static final ConcurrentLazy<Function<Player, OptionalInt>> packetEvents = LazyWarmup.register("ClientVersion.packetEvents", new ConcurrentLazy<>(() -> {
        Preconditions.checkArgument(isInstalled("packetevents"), "packetevents is not installed");
        final String prefix = "com.github.retrooper.packetevents.";
        final Object api = MethodHandles
@@ -105,22 +106,22 @@ public class ClientVersion implements Module {
        final MethodHandle versionMethod = MethodHandles.publicLookup().findVirtual(userClass, "getVersion", MethodType.methodType(versionClass));
        final MethodHandle versionId = MethodHandles.publicLookup().findVirtual(versionClass, "getProtocolVersion", MethodType.methodType(int.class));
        return asOptionalFunction(player -> versionId.invoke(versionMethod.invoke(userMethod.invoke(playerManager, player))));
-    });
+    }));
 
     private static Function<Player, OptionalInt> asOptionalFunction(final @NotNull ExceptionFunction<Player, Object> func) {
         return player -> { try { return OptionalInt.of((int) func.apply(player)); } catch (final Throwable throwable) { return OptionalInt.empty(); } };
     }
 
     @SuppressWarnings({"deprecation", "JavaLangInvokeHandleSignature"})
-    private static final Lazy<Integer> serverVersion = new Lazy<>(() -> (int) MethodHandles
+    private static final ConcurrentLazy<Integer> serverVersion = LazyWarmup.register("ClientVersion.serverVersion", new ConcurrentLazy<>(() -> (int) MethodHandles
             .publicLookup()
             .findVirtual(UnsafeValues.class, "getProtocolVersion", MethodType.methodType(int.class))
             .invokeExact(Bukkit.getUnsafe())
-    );
+    ));
 
     public int protocolVersion(final @NotNull Player player) throws IllegalArgumentException {
         Preconditions.checkNotNull(player, "player");
-        for (final Lazy<Function<Player, OptionalInt>> lazy : Arrays.asList(viaVersion, packetEvents, paperPlayerVersion, protocolLib)) {
+        for (final ConcurrentLazy<Function<Player, OptionalInt>> lazy : Arrays.asList(viaVersion, packetEvents, paperPlayerVersion, protocolLib)) {
             if (lazy.getCaused() != null) continue;
             final Function<Player, OptionalInt> func = lazy.getValue();
             final OptionalInt optionalInt = func.apply(player);
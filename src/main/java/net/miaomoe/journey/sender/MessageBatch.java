@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.sender;
+
+import lombok.Getter;
+import lombok.ToString;
+import net.kyori.adventure.text.Component;
+import net.miaomoe.journey.adventure.MessageTemplate;
+import net.miaomoe.journey.adventure.PresetsSerializer;
+import net.miaomoe.journey.annotation.Description;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
+
+@ToString
+@SuppressWarnings({"unused", "UnusedReturnValue"})
+@Description(description = "收集多行消息并在flush时作为一条换行连接的消息发送. 不是线程安全的")
+public final class MessageBatch implements AutoCloseable {
+    @Getter private final @NotNull Sender<?, ?> sender;
+    private final List<Component> lines = new ArrayList<>();
+
+    MessageBatch(final @NotNull Sender<?, ?> sender) {
+        this.sender = checkNotNull(sender, "sender");
+    }
+
+    public @NotNull MessageBatch add(final @NotNull Component component) {
+        lines.add(checkNotNull(component, "component"));
+        return this;
+    }
+
+    public @NotNull MessageBatch add(final @NotNull PresetsSerializer<?> serializer, final @NotNull String message) {
+        return add(PresetsSerializer.deserialize(serializer, message));
+    }
+
+    public @NotNull MessageBatch add(final @NotNull MessageTemplate template, final @Nullable Object @NotNull ... args) {
+        return add(checkNotNull(template, "template").render(args));
+    }
+
+    public @NotNull MessageBatch addAll(final @NotNull PresetsSerializer<?> serializer, final @Nullable List<String> messages) {
+        if (messages != null) for (final String message : messages) add(serializer, message);
+        return this;
+    }
+
+    public int size() {
+        return lines.size();
+    }
+
+    public boolean isEmpty() {
+        return lines.isEmpty();
+    }
+
+    @Description(description = "发送所有已收集的行并清空. 返回发送的行数")
+    public int flush() {
+        final int size = lines.size();
+        if (size == 0) return 0;
+        sender.sendMessage(lines.toArray(new Component[0]));
+        lines.clear();
+        return size;
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+}
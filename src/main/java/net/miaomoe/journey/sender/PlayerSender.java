@@ -46,6 +46,12 @@ public final class PlayerSender extends Sender<Player, PlayerSender> implements
         return getBukkitObject().getUniqueId();
     }
 
+    @Override
+    public @NotNull PlayerSender sendMessage(final @NotNull Component component) {
+        audience.sendMessage(checkNotNull(component, "component"));
+        return this;
+    }
+
     public int protocolVersion() {
         return getJourney().getModule(ClientVersion.class).protocolVersion(getBukkitObject());
     }
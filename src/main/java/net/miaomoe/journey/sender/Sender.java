@@ -20,9 +20,13 @@ package net.miaomoe.journey.sender;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.JoinConfiguration;
 import net.miaomoe.journey.Journey;
+import net.miaomoe.journey.adventure.MessageTemplate;
 import net.miaomoe.journey.adventure.PresetsSerializer;
+import net.miaomoe.journey.annotation.Description;
 import net.miaomoe.journey.functions.extend.BukkitBridge;
+import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.ConsoleCommandSender;
 import org.bukkit.entity.Player;
@@ -58,9 +62,23 @@ public abstract class Sender<T extends CommandSender, U extends Sender<?, ?>> im
         return sendMessage(PresetsSerializer.deserialize(serializer, message));
     }
 
+    @SuppressWarnings("UnusedReturnValue")
+    @Description(description = "与sendMessage相同, 但不经过解析缓存. 用于包含动态内容的消息")
+    public final @NotNull U sendUncachedMessage(final @NotNull PresetsSerializer<?> serializer, final @NotNull String message) {
+        return sendMessage(PresetsSerializer.deserializeUncached(serializer, message));
+    }
+
+    @Description(description = "多行消息会以换行连接成一条消息发送, 而不是逐行发送")
     public final U sendMessage(final @NotNull Component @NotNull... components) {
-        for (final @NotNull Component component : components) sendMessage(checkNotNull(component, "component"));
-        return getThis();
+        checkNotNull(components, "components");
+        for (final @NotNull Component component : components) checkNotNull(component, "component");
+        if (components.length == 0) return getThis();
+        return sendMessage(components.length == 1 ? components[0] : Component.join(JoinConfiguration.newlines(), components));
+    }
+
+    @Description(description = "创建一个消息批次, 在命令执行过程中收集输出并在最后一次性发送")
+    public final @NotNull MessageBatch batch() {
+        return new MessageBatch(this);
     }
 
     public final U sendMessage(final @NotNull PresetsSerializer<?> serializer, final @NotNull String @NotNull... messages) {
@@ -74,6 +92,11 @@ public abstract class Sender<T extends CommandSender, U extends Sender<?, ?>> im
         return sendMessage(serializer, Optional.ofNullable(messages).orElse(Collections.emptyList()).toArray(new String[0]));
     }
 
+    @SuppressWarnings("UnusedReturnValue")
+    public final @NotNull U sendMessage(final @NotNull MessageTemplate template, final @Nullable Object @NotNull ... args) {
+        return sendMessage(checkNotNull(template, "template").render(args));
+    }
+
     public final boolean hasPermission(final @NotNull String permission) {
         return getBukkitObject().hasPermission(checkNotNull(permission, "permission"));
     }
@@ -96,14 +119,16 @@ public abstract class Sender<T extends CommandSender, U extends Sender<?, ?>> im
     public final boolean isConsole() { return sender instanceof ConsoleCommandSender; }
 
     public static PlayerSender getSender(final @NotNull Journey<?> journey, final @NotNull Player player) {
-        return new PlayerSender(journey, player);
+        return checkNotNull(journey, "journey").getSenderRegistry().get(player);
     }
 
     public static Sender<?, ?> getSender(final @NotNull Journey<?> journey, final @NotNull CommandSender sender) {
         if (checkNotNull(sender, "sender") instanceof Player) {
             return getSender(journey, (Player) sender);
         } else if (sender instanceof ConsoleCommandSender) {
-            return new ConsoleSender(journey, (ConsoleCommandSender) sender);
+            return sender == Bukkit.getConsoleSender()
+                    ? checkNotNull(journey, "journey").getSenderRegistry().console()
+                    : new ConsoleSender(journey, (ConsoleCommandSender) sender);
         } else {
             return new UnknownSender(journey, sender);
         }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.sender;
+
+import lombok.Getter;
+import net.miaomoe.journey.Journey;
+import net.miaomoe.journey.JourneyLoader;
+import net.miaomoe.journey.annotation.Description;
+import net.miaomoe.journey.utils.Preconditions;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
+
+@SuppressWarnings("unused")
+@Description(description = "Per-Journey cache of senders. PlayerSender lives from join to the tick after quit, ConsoleSender is created once.")
+public final class SenderRegistry {
+    @Getter private final @NotNull Journey<?> journey;
+    private final Map<UUID, PlayerSender> players = new ConcurrentHashMap<>();
+    private volatile @Nullable ConsoleSender console = null;
+
+    public SenderRegistry(final @NotNull Journey<?> journey) {
+        this.journey = checkNotNull(journey, "journey");
+    }
+
+    public @NotNull PlayerSender get(final @NotNull Player player) {
+        checkNotNull(player, "player");
+        final PlayerSender cached = players.get(player.getUniqueId());
+        // same uuid with another Player object means the cached one is from a previous session
+        if (cached != null && cached.getBukkitObject() == player) return cached;
+        final PlayerSender sender = new PlayerSender(journey, player);
+        // never cache offline players. nothing would evict them
+        if (player.isOnline()) players.put(player.getUniqueId(), sender);
+        return sender;
+    }
+
+    public @Nullable PlayerSender getIfPresent(final @NotNull UUID uuid) {
+        return players.get(checkNotNull(uuid, "uuid"));
+    }
+
+    public @NotNull ConsoleSender console() {
+        ConsoleSender console = this.console;
+        if (console == null) {
+            synchronized (this) {
+                console = this.console;
+                if (console == null) this.console = console = new ConsoleSender(journey, Bukkit.getConsoleSender());
+            }
+        }
+        return console;
+    }
+
+    public void remove(final @NotNull UUID uuid) {
+        players.remove(checkNotNull(uuid, "uuid"));
+    }
+
+    public int size() {
+        return players.size();
+    }
+
+    public void clear() {
+        players.clear();
+    }
+
+    public static final class PlayerListener implements Listener {
+        public PlayerListener() throws IllegalAccessException {
+            Preconditions.checkInvoker(this.getClass(), JourneyLoader.class, "onEnable");
+        }
+
+        @EventHandler(priority = EventPriority.LOWEST)
+        public void onJoin(final PlayerJoinEvent event) {
+            for (final Journey<?> journey : JourneyLoader.getInstance().getJourneys()) {
+                if (!journey.isDisabled()) journey.getSenderRegistry().get(event.getPlayer());
+            }
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onQuit(final PlayerQuitEvent event) {
+            final JourneyLoader loader = JourneyLoader.getInstance();
+            if (!loader.isEnabled()) return;
+            final UUID uuid = event.getPlayer().getUniqueId();
+            // One tick later: quit handlers running after this one still see the player online,
+            // so whatever they re-cache through get() is evicted here as well.
+            Bukkit.getScheduler().runTask(loader, () -> {
+                if (Bukkit.getPlayer(uuid) != null) return;
+                for (final Journey<?> journey : loader.getJourneys()) {
+                    if (journey.isDisabled()) continue;
+                    journey.getSenderRegistry().remove(uuid);
+                    journey.removePlayerAttributes(uuid);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.utils;
+
+import lombok.Getter;
+import lombok.ToString;
+import net.miaomoe.journey.annotation.Description;
+import net.miaomoe.journey.functions.exceptionally.ExceptionSupplier;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
+
+@ToString(of = {"name", "poolSize", "queueCapacity", "rejectionPolicy"})
+@SuppressWarnings("unused")
+@Description(description = "Bounded executor owned by one Journey, so blocking work of one plugin cannot starve the common pool.")
+public final class AsyncExecutor implements Executor {
+    @Getter private final @NotNull String name;
+    @Getter private final int poolSize;
+    @Getter private final int queueCapacity;
+    @Getter private final @NotNull RejectionPolicy rejectionPolicy;
+    private final @NotNull ThreadPoolExecutor executor;
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queueNanos = new LongAdder();
+    private final LongAdder runNanos = new LongAdder();
+    private final AtomicLong maxQueueNanos = new AtomicLong();
+
+    public AsyncExecutor(
+            final @NotNull String name,
+            final int poolSize,
+            final int queueCapacity,
+            final @NotNull RejectionPolicy rejectionPolicy
+    ) {
+        Preconditions.checkArgument(poolSize > 0, "poolSize must be positive");
+        Preconditions.checkArgument(queueCapacity > 0, "queueCapacity must be positive");
+        this.name = checkNotNull(name, "name");
+        this.poolSize = poolSize;
+        this.queueCapacity = queueCapacity;
+        this.rejectionPolicy = checkNotNull(rejectionPolicy, "rejectionPolicy");
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new NamedThreadFactory(name),
+                new Rejection()
+        );
+        // idle pools do not keep threads around
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void execute(final @NotNull Runnable command) {
+        executor.execute(new Task(checkNotNull(command, "command")));
+    }
+
+    @Description(description = {
+            "Run the supplier on this executor. The future fails with RejectedExecutionException",
+            "instead of throwing when the task is rejected or discarded by the policy."
+    })
+    public <T> @NotNull CompletableFuture<T> supply(final @NotNull ExceptionSupplier<T> supplier) {
+        final CompletableTask<T> task = new CompletableTask<>(supplier);
+        try {
+            execute(task);
+        } catch (final RejectedExecutionException exception) {
+            task.getFuture().completeExceptionally(exception);
+        }
+        return task.getFuture();
+    }
+
+    @Description(description = "Like supply(), the future completes once the runnable returned or threw.")
+    public @NotNull CompletableFuture<Void> run(final @NotNull Runnable runnable) {
+        return supply(() -> {
+            checkNotNull(runnable, "runnable").run();
+            return null;
+        });
+    }
+
+    public int getQueueDepth() { return executor.getQueue().size(); }
+    public int getActiveCount() { return executor.getActiveCount(); }
+    public int getCurrentPoolSize() { return executor.getPoolSize(); }
+    public long getCompletedCount() { return completed.sum(); }
+    @Description(description = "Tasks that threw, counting CompletableTasks whose future completed exceptionally.")
+    public long getFailedCount() { return failed.sum(); }
+    @Description(description = "Tasks refused or discarded by the rejection policy.")
+    public long getRejectedCount() { return rejected.sum(); }
+    public long getMaxQueueNanos() { return maxQueueNanos.get(); }
+
+    @Description(description = "Average time between submit and start.")
+    public long getAverageQueueNanos() {
+        final long completed = getCompletedCount();
+        return completed == 0 ? 0 : queueNanos.sum() / completed;
+    }
+
+    public long getAverageRunNanos() {
+        final long completed = getCompletedCount();
+        return completed == 0 ? 0 : runNanos.sum() / completed;
+    }
+
+    public boolean isShutdown() { return executor.isShutdown(); }
+    public boolean isTerminated() { return executor.isTerminated(); }
+
+    @Description(description = "Stop accepting tasks. Queued ones still run, see awaitTermination().")
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Description(description = "false if the timeout elapsed (or the thread was interrupted) before every task finished.")
+    public boolean awaitTermination(final long timeout, final @NotNull TimeUnit unit) {
+        try {
+            return executor.awaitTermination(timeout, checkNotNull(unit, "unit"));
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Description(description = "Interrupt running tasks and drop queued ones, their futures complete with CancellationException. Returns the dropped count.")
+    public int shutdownNow() {
+        final List<Runnable> dropped = executor.shutdownNow();
+        for (final Runnable runnable : dropped) discard(runnable, new CancellationException("Executor " + name + " was shut down"));
+        return dropped.size();
+    }
+
+    @Description(description = "Stop accepting tasks and wait for queued ones. Returns false if the timeout elapsed and the rest was interrupted.")
+    public boolean shutdown(final long timeout, final @NotNull TimeUnit unit) {
+        shutdown();
+        if (awaitTermination(timeout, unit)) return true;
+        shutdownNow();
+        return false;
+    }
+
+    private void discard(final @NotNull Runnable runnable, final @NotNull Throwable cause) {
+        rejected.increment();
+        if (runnable instanceof Task) CompletableTask.fail(((Task) runnable).command, cause);
+    }
+
+    @Description(description = "Futures of discarded tasks (supply(), ThreadUtil.ASYNC) complete with RejectedExecutionException.")
+    public enum RejectionPolicy {
+        @Description(description = "Throw RejectedExecutionException to the submitter.")
+        ABORT,
+        @Description(description = "Run on the submitting thread. Avoid it when submitting from the server thread.")
+        CALLER_RUNS,
+        DISCARD,
+        DISCARD_OLDEST
+    }
+
+    private final class Rejection implements RejectedExecutionHandler {
+        @Override
+        public void rejectedExecution(final @NotNull Runnable runnable, final @NotNull ThreadPoolExecutor executor) {
+            if (!executor.isShutdown()) {
+                switch (rejectionPolicy) {
+                    case CALLER_RUNS:
+                        runnable.run();
+                        return;
+                    case DISCARD:
+                        discard(runnable, new RejectedExecutionException("Task discarded by " + name));
+                        return;
+                    case DISCARD_OLDEST:
+                        final Runnable oldest = executor.getQueue().poll();
+                        if (oldest != null) discard(oldest, new RejectedExecutionException("Task discarded by " + name));
+                        executor.execute(runnable);
+                        return;
+                    default:
+                        break;
+                }
+            }
+            rejected.increment();
+            throw new RejectedExecutionException("Task rejected by " + name + (executor.isShutdown() ? " (shut down)" : ""));
+        }
+    }
+
+    private final class Task implements Runnable {
+        private final @NotNull Runnable command;
+        private final long submitted = System.nanoTime();
+
+        private Task(final @NotNull Runnable command) {
+            this.command = command;
+        }
+
+        @Override
+        public void run() {
+            final long started = System.nanoTime();
+            final long waited = started - submitted;
+            queueNanos.add(waited);
+            maxQueueNanos.accumulateAndGet(waited, Math::max);
+            try {
+                command.run();
+                // CompletableTask never throws, its failure only shows on the future
+                if (command instanceof CompletableTask && ((CompletableTask<?>) command).getFuture().isCompletedExceptionally()) failed.increment();
+            } catch (final Throwable throwable) {
+                failed.increment();
+                throw throwable;
+            } finally {
+                runNanos.add(System.nanoTime() - started);
+                completed.increment();
+            }
+        }
+    }
+
+    private static final class NamedThreadFactory implements ThreadFactory {
+        private final @NotNull String name;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        private NamedThreadFactory(final @NotNull String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(final @NotNull Runnable runnable) {
+            final Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.utils;
+
+import lombok.Getter;
+import net.miaomoe.journey.Journey;
+import net.miaomoe.journey.annotation.Description;
+import net.miaomoe.journey.attribute.Attributes;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
+
+@SuppressWarnings("unused")
+@Description(description = "Main thread tasks which run each tick until the time budget is used, the rest carries over to the next tick.")
+public final class BudgetedTaskQueue {
+    public static final int DEFAULT_BUDGET_MICROS = 5000;
+
+    private final @NotNull Journey<?> journey;
+    @SuppressWarnings("unchecked")
+    private final Queue<Entry>[] queues = new Queue[Priority.values().length];
+    private final AtomicInteger depth = new AtomicInteger();
+    // ConcurrentLinkedQueue#size() is O(n), one counter per priority next to the total
+    private final AtomicInteger[] depths = new AtomicInteger[queues.length];
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder queueNanos = new LongAdder();
+    private final AtomicLong maxQueueNanos = new AtomicLong();
+    private final LongAdder carriedOverTicks = new LongAdder();
+    @Getter private volatile long lastTickNanos = 0;
+    @Getter private volatile int lastTickCount = 0;
+    private volatile @Nullable BukkitTask task = null;
+    private volatile boolean closed = false;
+
+    public BudgetedTaskQueue(final @NotNull Journey<?> journey) {
+        this.journey = checkNotNull(journey, "journey");
+        for (int i = 0; i < queues.length; i++) {
+            queues[i] = new ConcurrentLinkedQueue<>();
+            depths[i] = new AtomicInteger();
+        }
+    }
+
+    public void submit(final @NotNull Priority priority, final @NotNull Runnable runnable) {
+        final int ordinal = checkNotNull(priority, "priority").ordinal();
+        final Queue<Entry> queue = queues[ordinal];
+        final Entry entry = new Entry(checkNotNull(runnable, "runnable"), System.nanoTime());
+        queue.offer(entry);
+        depths[ordinal].incrementAndGet();
+        depth.incrementAndGet();
+        if (closed) {
+            // raced with close(): take it back unless close() already dropped it
+            if (queue.remove(entry)) {
+                depths[ordinal].decrementAndGet();
+                depth.decrementAndGet();
+                CompletableTask.fail(runnable, cancelled());
+            }
+            return;
+        }
+        if (task == null) start();
+    }
+
+    private synchronized void start() {
+        if (task != null || closed) return;
+        task = Bukkit.getScheduler().runTaskTimer(journey.getPlugin(), this::tick, 0L, 1L);
+    }
+
+    @Description(description = "Budget is read from MAIN_THREAD_BUDGET_MICROS every tick. At least one task runs per tick.")
+    public void tick() {
+        Preconditions.checkArgument(Bukkit.isPrimaryThread(), "Cannot run budgeted tasks outside the main thread");
+        if (depth.get() == 0) {
+            lastTickCount = 0;
+            lastTickNanos = 0;
+            return;
+        }
+        final long budget = TimeUnit.MICROSECONDS.toNanos(
+                Math.max(0, journey.getIntAttribute(Attributes.MAIN_THREAD_BUDGET_MICROS, DEFAULT_BUDGET_MICROS))
+        );
+        final long start = System.nanoTime();
+        long now = start;
+        int ran = 0;
+        for (int i = 0; i < queues.length; i++) {
+            Entry entry;
+            while ((ran == 0 || now - start < budget) && (entry = queues[i].poll()) != null) {
+                depths[i].decrementAndGet();
+                depth.decrementAndGet();
+                final long waited = now - entry.submitted;
+                queueNanos.add(waited);
+                maxQueueNanos.accumulateAndGet(waited, Math::max);
+                try {
+                    entry.runnable.run();
+                } catch (final Throwable throwable) {
+                    journey.getPlugin().getLogger().log(Level.WARNING, "Unhandled exception on budgeted main thread task", throwable);
+                }
+                ran++;
+                now = System.nanoTime();
+            }
+        }
+        completed.add(ran);
+        lastTickCount = ran;
+        lastTickNanos = now - start;
+        if (depth.get() > 0) carriedOverTicks.increment();
+    }
+
+    public int getDepth() { return depth.get(); }
+    public int getDepth(final @NotNull Priority priority) { return depths[checkNotNull(priority, "priority").ordinal()].get(); }
+    public long getCompletedCount() { return completed.sum(); }
+    public long getMaxQueueNanos() { return maxQueueNanos.get(); }
+    @Description(description = "Ticks which ended with tasks left in the queue.")
+    public long getCarriedOverTicks() { return carriedOverTicks.sum(); }
+
+    public long getAverageQueueNanos() {
+        final long completed = getCompletedCount();
+        return completed == 0 ? 0 : queueNanos.sum() / completed;
+    }
+
+    @Description(description = "Cancel the tick task and drop pending tasks. Futures of dropped tasks, and of tasks submitted later, complete with CancellationException.")
+    public synchronized int close() {
+        closed = true;
+        final BukkitTask task = this.task;
+        if (task != null) task.cancel();
+        int dropped = 0;
+        for (int i = 0; i < queues.length; i++) {
+            Entry entry;
+            while ((entry = queues[i].poll()) != null) {
+                depths[i].decrementAndGet();
+                CompletableTask.fail(entry.runnable, cancelled());
+                dropped++;
+            }
+        }
+        depth.addAndGet(-dropped);
+        return dropped;
+    }
+
+    private @NotNull CancellationException cancelled() {
+        return new CancellationException("Journey of " + journey.getPlugin().getName() + " was disabled");
+    }
+
+    @Description(description = "Higher priorities are drained first within the budget of a tick.")
+    public enum Priority {
+        HIGH, NORMAL, LOW
+    }
+
+    private static final class Entry {
+        private final @NotNull Runnable runnable;
+        private final long submitted;
+
+        private Entry(final @NotNull Runnable runnable, final long submitted) {
+            this.runnable = runnable;
+            this.submitted = submitted;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.utils;
+
+import lombok.Getter;
+import net.miaomoe.journey.annotation.Description;
+import net.miaomoe.journey.functions.exceptionally.ExceptionSupplier;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+
+import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
+
+@Description(description = {
+        "Runnable bound to the future it completes. Queues and executors that drop a task without running it",
+        "call fail() on it, so nobody waits on a future that can never complete."
+})
+final class CompletableTask<T> implements Runnable {
+    private final @NotNull ExceptionSupplier<T> supplier;
+    @Getter private final @NotNull CompletableFuture<T> future = new CompletableFuture<>();
+
+    CompletableTask(final @NotNull ExceptionSupplier<T> supplier) {
+        this.supplier = checkNotNull(supplier, "supplier");
+    }
+
+    static @NotNull CompletableTask<Void> of(final @NotNull Runnable runnable) {
+        checkNotNull(runnable, "runnable");
+        return new CompletableTask<>(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    @Override
+    public void run() {
+        if (future.isDone()) return;
+        try {
+            future.complete(supplier.get());
+        } catch (final Throwable throwable) {
+            future.completeExceptionally(throwable);
+        }
+    }
+
+    @Description(description = "Complete the future of the task exceptionally. Does nothing for other runnables.")
+    static void fail(final @NotNull Runnable runnable, final @NotNull Throwable cause) {
+        if (runnable instanceof CompletableTask) ((CompletableTask<?>) runnable).future.completeExceptionally(cause);
+    }
+}
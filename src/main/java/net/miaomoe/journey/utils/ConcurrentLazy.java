@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.utils;
+
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.ToString;
+import net.miaomoe.journey.annotation.Description;
+import net.miaomoe.journey.functions.exceptionally.ExceptionSupplier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+@Description(description = "Thread-safe Lazy. init runs at most once, later reads never lock.")
+@ToString(exclude = {"init"})
+public final class ConcurrentLazy<T> {
+    private final ExceptionSupplier<T> init;
+    // published by the volatile write of alreadyLoaded
+    private T value = null;
+    @Getter private volatile boolean alreadyLoaded = false;
+    @Getter private volatile @Nullable Throwable caused = null;
+
+    public ConcurrentLazy(@NotNull final ExceptionSupplier<T> init) {
+        this.init=Preconditions.checkNotNull(init, "init supplier");
+    }
+
+    @SneakyThrows
+    public T getValue() {
+        if (alreadyLoaded) return value;
+        final Throwable caused = this.caused;
+        if (caused != null) throw caused;
+        synchronized (this) {
+            if (alreadyLoaded) return value;
+            if (this.caused != null) throw this.caused;
+            final T value;
+            try {
+                value = init.get();
+            } catch (final Throwable e) {
+                this.caused=e;
+                throw e;
+            }
+            this.value=value;
+            alreadyLoaded=true;
+            return value;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public @Nullable T getValueDirectly() {
+        return alreadyLoaded ? value : null;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.utils;
+
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.ToString;
+import net.miaomoe.journey.annotation.Description;
+import net.miaomoe.journey.functions.exceptionally.ExceptionSupplier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+@Description(description = "Lazy value that is recomputed after ttl or invalidate(). Failures are not cached.")
+@ToString(exclude = {"init"})
+@SuppressWarnings("unused")
+public final class ExpiringLazy<T> {
+    private final ExceptionSupplier<T> init;
+    @Getter private final long ttlNanos;
+    private volatile @Nullable Entry<T> entry = null;
+    @Getter private volatile @Nullable Throwable caused = null;
+
+    public ExpiringLazy(@NotNull final ExceptionSupplier<T> init, final long ttl, final @NotNull TimeUnit unit) {
+        this.init=Preconditions.checkNotNull(init, "init supplier");
+        Preconditions.checkArgument(ttl > 0, "ttl must be positive");
+        this.ttlNanos=Preconditions.checkNotNull(unit, "unit").toNanos(ttl);
+    }
+
+    @Description(description = "Never expires by time, only by invalidate().")
+    public ExpiringLazy(@NotNull final ExceptionSupplier<T> init) {
+        this.init=Preconditions.checkNotNull(init, "init supplier");
+        this.ttlNanos=Long.MAX_VALUE;
+    }
+
+    @SneakyThrows
+    public T getValue() {
+        final Entry<T> entry = this.entry;
+        if (entry != null && !entry.isExpired(System.nanoTime())) return entry.value;
+        synchronized (this) {
+            final Entry<T> current = this.entry;
+            final long now = System.nanoTime();
+            if (current != null && !current.isExpired(now)) return current.value;
+            final T value;
+            try {
+                value = init.get();
+            } catch (final Throwable e) {
+                caused=e;
+                throw e;
+            }
+            caused=null;
+            this.entry=new Entry<>(value, ttlNanos == Long.MAX_VALUE ? Long.MAX_VALUE : now + ttlNanos);
+            return value;
+        }
+    }
+
+    public boolean isAlreadyLoaded() {
+        final Entry<T> entry = this.entry;
+        return entry != null && !entry.isExpired(System.nanoTime());
+    }
+
+    @Description(description = "Drop the cached value. The next getValue() will recompute it.")
+    public void invalidate() {
+        entry=null;
+    }
+
+    public @Nullable T getValueDirectly() {
+        final Entry<T> entry = this.entry;
+        return entry == null ? null : entry.value;
+    }
+
+    private static final class Entry<T> {
+        private final T value;
+        private final long expireAt;
+
+        private Entry(final T value, final long expireAt) {
+            this.value=value;
+            this.expireAt=expireAt;
+        }
+
+        private boolean isExpired(final long now) {
+            return expireAt != Long.MAX_VALUE && now - expireAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.utils;
+
+import lombok.Value;
+import lombok.experimental.UtilityClass;
+import net.miaomoe.journey.annotation.Description;
+import net.miaomoe.journey.functions.exceptionally.ExceptionSupplier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
+
+@UtilityClass
+@SuppressWarnings("unused")
+@Description(description = "Registry of lazy values that should be resolved before the first player interaction.")
+public class LazyWarmup {
+    private static final Map<String, ExceptionSupplier<?>> entries = new ConcurrentHashMap<>();
+
+    @Description(description = "Enroll a lazy value. Returns the same instance so it can be used inline in a field initializer.")
+    public static <T> @NotNull ConcurrentLazy<T> register(final @NotNull String name, final @NotNull ConcurrentLazy<T> lazy) {
+        checkNotNull(lazy, "lazy");
+        registerTask(name, lazy::getValue);
+        return lazy;
+    }
+
+    @Description(description = "Enroll an arbitrary task, e.g. to load classes or build an instance once.")
+    public static void registerTask(final @NotNull String name, final @NotNull ExceptionSupplier<?> task) {
+        entries.put(checkNotNull(name, "name"), checkNotNull(task, "task"));
+    }
+
+    public static void unregister(final @NotNull String name) {
+        entries.remove(checkNotNull(name, "name"));
+    }
+
+    public static int size() {
+        return entries.size();
+    }
+
+    @Description(description = "Run static initializers so the lazy values declared there are enrolled.")
+    public static void enroll(final @NotNull Class<?>... owners) {
+        for (final Class<?> owner : checkNotNull(owners, "owners")) {
+            try {
+                Class.forName(owner.getName(), true, owner.getClassLoader());
+            } catch (final ClassNotFoundException exception) {
+                throw new IllegalStateException(exception);
+            }
+        }
+    }
+
+    @Description(description = "Resolve every enrolled entry on a temporary pool. The pool shuts down when all entries finished.")
+    public static @NotNull CompletableFuture<List<Result>> warm(final int parallelism) {
+        Preconditions.checkArgument(parallelism > 0, "parallelism must be positive");
+        final List<Map.Entry<String, ExceptionSupplier<?>>> snapshot = new ArrayList<>(entries.entrySet());
+        if (snapshot.isEmpty()) return CompletableFuture.completedFuture(new ArrayList<>());
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, snapshot.size()), new WarmupThreadFactory());
+        final List<CompletableFuture<Result>> futures = new ArrayList<>(snapshot.size());
+        for (final Map.Entry<String, ExceptionSupplier<?>> entry : snapshot) {
+            futures.add(CompletableFuture.supplyAsync(() -> run(entry.getKey(), entry.getValue()), executor));
+        }
+        return CompletableFuture
+                .allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignore -> {
+                    final List<Result> results = new ArrayList<>(futures.size());
+                    for (final CompletableFuture<Result> future : futures) results.add(future.join());
+                    return results;
+                })
+                .whenComplete((results, throwable) -> executor.shutdown());
+    }
+
+    public static @NotNull CompletableFuture<List<Result>> warm() {
+        return warm(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    private static @NotNull Result run(final @NotNull String name, final @NotNull ExceptionSupplier<?> task) {
+        final long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            task.get();
+        } catch (final Throwable throwable) {
+            failure = throwable;
+        }
+        return new Result(name, System.nanoTime() - start, failure);
+    }
+
+    @Value
+    public static class Result {
+        @NotNull String name;
+        long nanos;
+        @Nullable Throwable failure;
+
+        public boolean isSuccess() { return failure == null; }
+    }
+
+    private static final class WarmupThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final @NotNull Runnable runnable) {
+            final Thread thread = new Thread(runnable, "Journey-Warmup-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.utils;
+
+import lombok.Getter;
+import net.miaomoe.journey.Journey;
+import net.miaomoe.journey.annotation.Description;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
+
+@SuppressWarnings("unused")
+@Description(description = "Tasks submitted from other threads are queued and run by one repeating task per tick, instead of one BukkitTask each.")
+public final class MainThreadQueue {
+    private final @NotNull Journey<?> journey;
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    // ConcurrentLinkedQueue#size() is O(n)
+    private final AtomicInteger depth = new AtomicInteger();
+    private final LongAdder drained = new LongAdder();
+    private final AtomicInteger maxDepth = new AtomicInteger();
+    @Getter private volatile long lastDrainNanos = 0;
+    @Getter private volatile int lastDrainCount = 0;
+    private volatile @Nullable BukkitTask task = null;
+    private volatile boolean closed = false;
+
+    public MainThreadQueue(final @NotNull Journey<?> journey) {
+        this.journey = checkNotNull(journey, "journey");
+    }
+
+    public void submit(final @NotNull Runnable runnable) {
+        queue.offer(checkNotNull(runnable, "runnable"));
+        final int depth = this.depth.incrementAndGet();
+        if (closed) {
+            // raced with close(): take it back unless close() already dropped it
+            if (queue.remove(runnable)) {
+                this.depth.decrementAndGet();
+                CompletableTask.fail(runnable, cancelled());
+            }
+            return;
+        }
+        if (depth > maxDepth.get()) maxDepth.accumulateAndGet(depth, Math::max);
+        if (task == null) start();
+    }
+
+    private synchronized void start() {
+        if (task != null || closed) return;
+        task = Bukkit.getScheduler().runTaskTimer(journey.getPlugin(), this::drain, 0L, 1L);
+    }
+
+    @Description(description = "Run queued tasks on the server thread. Tasks queued while draining wait for the next tick.")
+    public void drain() {
+        Preconditions.checkArgument(Bukkit.isPrimaryThread(), "Cannot drain main thread queue outside the main thread");
+        final int count = depth.get();
+        if (count == 0) {
+            lastDrainCount = 0;
+            return;
+        }
+        final long start = System.nanoTime();
+        int ran = 0;
+        for (; ran < count; ran++) {
+            final Runnable runnable = queue.poll();
+            if (runnable == null) break;
+            depth.decrementAndGet();
+            try {
+                runnable.run();
+            } catch (final Throwable throwable) {
+                journey.getPlugin().getLogger().log(Level.WARNING, "Unhandled exception on main thread task", throwable);
+            }
+        }
+        drained.add(ran);
+        lastDrainCount = ran;
+        lastDrainNanos = System.nanoTime() - start;
+    }
+
+    public int getDepth() { return depth.get(); }
+    public int getMaxDepth() { return maxDepth.get(); }
+    public long getDrainedCount() { return drained.sum(); }
+
+    @Description(description = {
+            "Cancel the drain task and drop pending tasks, like Bukkit does for a disabled plugin.",
+            "Futures of dropped ThreadUtil.SERVER_THREAD tasks, and of tasks submitted later, complete with CancellationException."
+    })
+    public synchronized int close() {
+        closed = true;
+        final BukkitTask task = this.task;
+        if (task != null) task.cancel();
+        int dropped = 0;
+        Runnable runnable;
+        while ((runnable = queue.poll()) != null) {
+            CompletableTask.fail(runnable, cancelled());
+            dropped++;
+        }
+        depth.addAndGet(-dropped);
+        return dropped;
+    }
+
+    private @NotNull CancellationException cancelled() {
+        return new CancellationException("Journey of " + journey.getPlugin().getName() + " was disabled");
+    }
+}
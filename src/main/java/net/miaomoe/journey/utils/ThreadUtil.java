@@ -23,12 +23,19 @@ import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import net.miaomoe.journey.Journey;
 import net.miaomoe.journey.JourneyLoader;
+import net.miaomoe.journey.annotation.Description;
 import net.miaomoe.journey.attribute.Attributes;
 import net.miaomoe.journey.functions.exceptionally.ExceptionSupplier;
 import org.bukkit.Bukkit;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 @Getter(AccessLevel.PRIVATE)
@@ -40,19 +47,15 @@ public final class ThreadUtil {
         @Override public void run(@NotNull ThreadUtil util, @NotNull Runnable runnable) {
             if (isCurrentThread()) runnable.run(); else {
                 checkStartup(util);
-                Bukkit.getScheduler().runTask(util.getJourney().getPlugin(), runnable);
+                util.getJourney().getMainThreadQueue().submit(runnable);
             }
         }
         @SneakyThrows
         @Override public <T> CompletableFuture<T> get(@NotNull ThreadUtil util, @NotNull ExceptionSupplier<T> supplier) {
-            final CompletableFuture<T> future = new CompletableFuture<>();
-            if (isCurrentThread()) {
-                future.complete(supplier.get());
-            } else {
-                checkStartup(util);
-                this.run(util, () -> future.complete(supplier.asSupplier().get()));
-            }
-            return future;
+            if (isCurrentThread()) return CompletableFuture.completedFuture(supplier.get());
+            final CompletableTask<T> task = new CompletableTask<>(supplier);
+            this.run(util, task);
+            return task.getFuture();
         }
         @Override public boolean isCurrentThread() { return Bukkit.isPrimaryThread(); }
 
@@ -72,13 +75,89 @@ public final class ThreadUtil {
     };
 
     public static final Unconditional ASYNC = new Unconditional() {
-        @Override public void run(@NotNull ThreadUtil util, @NotNull Runnable runnable) { CompletableFuture.runAsync(runnable); }
+        @Override public void run(@NotNull ThreadUtil util, @NotNull Runnable runnable) {
+            // like CompletableFuture.runAsync: ABORT throws to the caller, failures stay in the unobserved future
+            util.getJourney().getAsyncExecutor().execute(CompletableTask.of(runnable));
+        }
         @Override public <T> CompletableFuture<T> get(@NotNull ThreadUtil util, @NotNull ExceptionSupplier<T> supplier) {
-            return CompletableFuture.supplyAsync(supplier.asSupplier());
+            return util.getJourney().getAsyncExecutor().supply(supplier);
         }
         @Override public boolean isCurrentThread() { return false; }
     };
 
+    @Description(description = "Queued to the server thread and run within a per-tick time budget. See BudgetedTaskQueue.")
+    public static final Unconditional SERVER_THREAD_BUDGETED = budgeted(BudgetedTaskQueue.Priority.NORMAL);
+
+    public static @NotNull Unconditional budgeted(final @NotNull BudgetedTaskQueue.Priority priority) {
+        Preconditions.checkNotNull(priority, "priority");
+        return new Unconditional() {
+            @Override public void run(@NotNull ThreadUtil util, @NotNull Runnable runnable) {
+                util.getJourney().getBudgetedTaskQueue().submit(priority, runnable);
+            }
+            @Override public <T> CompletableFuture<T> get(@NotNull ThreadUtil util, @NotNull ExceptionSupplier<T> supplier) {
+                final CompletableTask<T> task = new CompletableTask<>(supplier);
+                run(util, task);
+                return task.getFuture();
+            }
+            // always queue, even on the server thread. otherwise callers would run it inline and skip the budget
+            @Override public boolean isCurrentThread() { return false; }
+        };
+    }
+
+    @Description(description = {
+            "Run on a new virtual thread (Java 21+), for blocking I/O. Falls back to ASYNC on older JVMs.",
+            "Avoid long blocking calls inside synchronized blocks there, they pin the carrier thread."
+    })
+    public static final Unconditional VIRTUAL = new Unconditional() {
+        @Override public void run(@NotNull ThreadUtil util, @NotNull Runnable runnable) {
+            final ThreadFactory factory = virtualThreadFactory();
+            if (factory == null) util.run(ASYNC, runnable); else factory.newThread(runnable).start();
+        }
+        @Override public <T> CompletableFuture<T> get(@NotNull ThreadUtil util, @NotNull ExceptionSupplier<T> supplier) {
+            final ThreadFactory factory = virtualThreadFactory();
+            if (factory == null) return util.get(ASYNC, supplier);
+            return CompletableFuture.supplyAsync(supplier.asSupplier(), runnable -> factory.newThread(runnable).start());
+        }
+        @Override public boolean isCurrentThread() {
+            if (virtualThreadFactory() == null) return false;
+            try {
+                return (boolean) isVirtual.getValue().invokeExact(Thread.currentThread());
+            } catch (final Throwable throwable) {
+                return false;
+            }
+        }
+    };
+
+    private static final ConcurrentLazy<ThreadFactory> virtualThreads = new ConcurrentLazy<>(() -> {
+        final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+        final Object builder = lookup
+                .findStatic(Thread.class, "ofVirtual", MethodType.methodType(Class.forName("java.lang.Thread$Builder$OfVirtual")))
+                .invoke();
+        final Object named = lookup
+                .findVirtual(builderClass, "name", MethodType.methodType(builderClass, String.class, long.class))
+                .invoke(builder, "Journey-Virtual-", 0L);
+        // the factory is documented as safe for concurrent use
+        return (ThreadFactory) lookup.findVirtual(builderClass, "factory", MethodType.methodType(ThreadFactory.class)).invoke(named);
+    });
+
+    private static final ConcurrentLazy<MethodHandle> isVirtual = new ConcurrentLazy<>(() ->
+            MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class))
+    );
+
+    public static boolean isVirtualThreadSupported() {
+        return virtualThreadFactory() != null;
+    }
+
+    private static @Nullable ThreadFactory virtualThreadFactory() {
+        if (virtualThreads.getCaused() != null) return null;
+        try {
+            return virtualThreads.getValue();
+        } catch (final Throwable throwable) {
+            return null;
+        }
+    }
+
     @Deprecated public static final Unconditional CURRENT = new Unconditional() {
         @Override public void run(@NotNull ThreadUtil util, @NotNull Runnable runnable) { runnable.run(); }
         @Override public <T> CompletableFuture<T> get(@NotNull ThreadUtil util, @NotNull ExceptionSupplier<T> supplier) {
@@ -95,4 +174,20 @@ public final class ThreadUtil {
 
     @SneakyThrows public void run(final Unconditional thread, final Runnable runnable) { thread.run(this, runnable); }
     @SneakyThrows public <T> CompletableFuture<T> get(final Unconditional thread, final ExceptionSupplier<T> supplier) { return thread.get(this, supplier); }
+
+    @Description(description = "Run once after delay. Cancel with the returned timeout.")
+    public @NotNull TimingWheel.Timeout schedule(final @NotNull Unconditional thread, final long delay, final @NotNull TimeUnit unit, final @NotNull Runnable task) {
+        return journey.getTimerService().schedule(thread, delay, 0, unit, task);
+    }
+
+    public @NotNull TimingWheel.Timeout scheduleRepeating(
+            final @NotNull Unconditional thread,
+            final long initialDelay,
+            final long period,
+            final @NotNull TimeUnit unit,
+            final @NotNull Runnable task
+    ) {
+        Preconditions.checkArgument(period > 0, "period must be positive");
+        return journey.getTimerService().schedule(thread, initialDelay, period, unit, task);
+    }
 }
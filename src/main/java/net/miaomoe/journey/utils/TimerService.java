@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.utils;
+
+import net.miaomoe.journey.Journey;
+import net.miaomoe.journey.annotation.Description;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
+
+@SuppressWarnings("unused")
+@Description(description = {
+        "Delayed and repeating tasks of one Journey. Delays are wall-clock time.",
+        "SERVER_THREAD timers live on a 50ms wheel advanced by one tick task and run inline,",
+        "everything else lives on a 10ms wheel advanced by one timer thread and is dispatched with ThreadUtil#run."
+})
+public final class TimerService {
+    private static final int WHEEL_SIZE = 512;
+
+    private final @NotNull Journey<?> journey;
+    private final @NotNull TimingWheel mainWheel;
+    private final @NotNull TimingWheel asyncWheel;
+    private volatile @Nullable BukkitTask mainDriver = null;
+    private volatile @Nullable Thread asyncDriver = null;
+    private volatile boolean closed = false;
+
+    public TimerService(final @NotNull Journey<?> journey) {
+        this.journey = checkNotNull(journey, "journey");
+        this.mainWheel = new TimingWheel(50, TimeUnit.MILLISECONDS, WHEEL_SIZE, journey.getPlugin().getLogger());
+        this.asyncWheel = new TimingWheel(10, TimeUnit.MILLISECONDS, WHEEL_SIZE, journey.getPlugin().getLogger());
+    }
+
+    public @NotNull TimingWheel.Timeout schedule(
+            final @NotNull ThreadUtil.Unconditional thread,
+            final long delay,
+            final long period,
+            final @NotNull TimeUnit unit,
+            final @NotNull Runnable task
+    ) {
+        checkNotNull(thread, "thread");
+        checkNotNull(task, "task");
+        Preconditions.checkArgument(!closed, "Timer service is closed");
+        if (thread == ThreadUtil.SERVER_THREAD) {
+            final TimingWheel.Timeout timeout = mainWheel.schedule(task, delay, period, unit);
+            if (mainDriver == null) startMainDriver();
+            return timeout;
+        }
+        final ThreadUtil util = journey.getThreadUtil();
+        final TimingWheel.Timeout timeout = asyncWheel.schedule(() -> util.run(thread, task), delay, period, unit);
+        if (asyncDriver == null) startAsyncDriver();
+        return timeout;
+    }
+
+    public int getMainTimerCount() { return mainWheel.size(); }
+    public int getAsyncTimerCount() { return asyncWheel.size(); }
+
+    private synchronized void startMainDriver() {
+        if (mainDriver != null || closed) return;
+        mainDriver = Bukkit.getScheduler().runTaskTimer(journey.getPlugin(), () -> mainWheel.advance(System.nanoTime()), 1L, 1L);
+    }
+
+    private synchronized void startAsyncDriver() {
+        if (asyncDriver != null || closed) return;
+        final Thread thread = new Thread(() -> {
+            while (!closed) {
+                final long sleep = asyncWheel.nextTickTime() - System.nanoTime();
+                if (sleep > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(sleep);
+                    } catch (final InterruptedException exception) {
+                        return;
+                    }
+                }
+                asyncWheel.advance(System.nanoTime());
+            }
+        }, journey.getPlugin().getName() + "-Journey-Timer");
+        thread.setDaemon(true);
+        thread.start();
+        asyncDriver = thread;
+    }
+
+    @Description(description = "Stop both drivers. Pending timers never fire.")
+    public synchronized void close() {
+        closed = true;
+        final BukkitTask mainDriver = this.mainDriver;
+        if (mainDriver != null) mainDriver.cancel();
+        final Thread asyncDriver = this.asyncDriver;
+        if (asyncDriver != null) asyncDriver.interrupt();
+    }
+}
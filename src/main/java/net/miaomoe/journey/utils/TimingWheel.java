@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.utils;
+
+import lombok.Getter;
+import net.miaomoe.journey.annotation.Description;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
+
+@SuppressWarnings("unused")
+@Description(description = {
+        "Hashed timing wheel. schedule() and cancel() are O(1) and safe from any thread,",
+        "advance() must only be called by the single driver (a tick task or a timer thread)."
+})
+public final class TimingWheel {
+    @Getter private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startTime = System.nanoTime();
+    private final @NotNull Logger logger;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger active = new AtomicInteger();
+    // only touched by the driver
+    private long tick = 0;
+
+    public TimingWheel(final long tickDuration, final @NotNull TimeUnit unit, final int wheelSize, final @NotNull Logger logger) {
+        Preconditions.checkArgument(tickDuration > 0, "tickDuration must be positive");
+        Preconditions.checkArgument(wheelSize > 0 && (wheelSize & (wheelSize - 1)) == 0, "wheelSize must be a power of two");
+        this.tickNanos = checkNotNull(unit, "unit").toNanos(tickDuration);
+        this.wheel = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) wheel[i] = new Bucket();
+        this.mask = wheelSize - 1;
+        this.logger = checkNotNull(logger, "logger");
+    }
+
+    @Description(description = {
+            "period 0 means run once. Repeating timeouts keep their phase and run at most once per tick,",
+            "periods missed while the driver lagged are skipped instead of run back to back (like runTaskTimer)."
+    })
+    public @NotNull Timeout schedule(final @NotNull Runnable task, final long delay, final long period, final @NotNull TimeUnit unit) {
+        checkNotNull(task, "task");
+        checkNotNull(unit, "unit");
+        Preconditions.checkArgument(delay >= 0, "delay cannot be negative");
+        Preconditions.checkArgument(period >= 0, "period cannot be negative");
+        final Timeout timeout = new Timeout(this, task, System.nanoTime() - startTime + unit.toNanos(delay), unit.toNanos(period));
+        active.incrementAndGet();
+        pending.offer(timeout);
+        return timeout;
+    }
+
+    public int size() {
+        return active.get();
+    }
+
+    @Description(description = "System.nanoTime() at which the driver should call advance() next.")
+    public long nextTickTime() {
+        return startTime + (tick + 1) * tickNanos;
+    }
+
+    @Description(description = "Expire every tick up to now. Returns the number of tasks that ran.")
+    public int advance(final long now) {
+        final long elapsed = now - startTime;
+        int ran = 0;
+        while ((tick + 1) * tickNanos <= elapsed) {
+            processCancelled();
+            transferPending();
+            ran += expire(wheel[(int) (tick & mask)], elapsed);
+            tick++;
+        }
+        return ran;
+    }
+
+    private void processCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            final Bucket bucket = timeout.bucket;
+            if (bucket != null) bucket.remove(timeout);
+        }
+    }
+
+    private void transferPending() {
+        // bounded, so a producer flood cannot stall the driver forever
+        for (int i = 0; i < 100_000; i++) {
+            final Timeout timeout = pending.poll();
+            if (timeout == null) return;
+            if (timeout.state == Timeout.ST_INIT) place(timeout, tick);
+        }
+    }
+
+    private void place(final @NotNull Timeout timeout, final long minTick) {
+        final long calculated = timeout.deadline / tickNanos;
+        final long ticks = Math.max(calculated, minTick);
+        // rounds until the bucket is visited at ticks, counted from the first visit at or after minTick
+        timeout.remainingRounds = (ticks - minTick) / wheel.length;
+        wheel[(int) (ticks & mask)].add(timeout);
+    }
+
+    private int expire(final @NotNull Bucket bucket, final long elapsed) {
+        int ran = 0;
+        List<Timeout> reschedule = null;
+        Timeout timeout = bucket.head;
+        while (timeout != null) {
+            final Timeout next = timeout.next;
+            if (timeout.state == Timeout.ST_CANCELLED) {
+                bucket.remove(timeout);
+            } else if (timeout.remainingRounds <= 0) {
+                bucket.remove(timeout);
+                if (timeout.run()) {
+                    if (reschedule == null) reschedule = new ArrayList<>();
+                    reschedule.add(timeout);
+                }
+                ran++;
+            } else {
+                timeout.remainingRounds--;
+            }
+            timeout = next;
+        }
+        // placed after the loop, a timeout landing in this bucket again must not be visited twice
+        if (reschedule != null) {
+            for (final Timeout repeating : reschedule) {
+                if (repeating.state != Timeout.ST_INIT) continue;
+                repeating.deadline += repeating.period;
+                // behind after a stall: skip to the first period after now instead of firing once per missed tick
+                if (repeating.deadline <= elapsed) {
+                    repeating.deadline += ((elapsed - repeating.deadline) / repeating.period + 1) * repeating.period;
+                }
+                place(repeating, tick + 1);
+            }
+        }
+        return ran;
+    }
+
+    public static final class Timeout {
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE = AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final @NotNull TimingWheel owner;
+        private final @NotNull Runnable task;
+        private final long period;
+        private long deadline;
+        private long remainingRounds;
+        private volatile int state = ST_INIT;
+        private @Nullable Bucket bucket;
+        private @Nullable Timeout next;
+        private @Nullable Timeout prev;
+
+        private Timeout(final @NotNull TimingWheel owner, final @NotNull Runnable task, final long deadline, final long period) {
+            this.owner = owner;
+            this.task = task;
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        @Description(description = "Returns false if it already ran (one-shot) or was cancelled before.")
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_CANCELLED)) return false;
+            owner.active.decrementAndGet();
+            owner.cancelled.offer(this);
+            return true;
+        }
+
+        public boolean isCancelled() { return state == ST_CANCELLED; }
+        public boolean isExpired() { return state == ST_EXPIRED; }
+        public boolean isRepeating() { return period > 0; }
+
+        // returns true when the timeout should be scheduled again
+        private boolean run() {
+            if (period == 0) {
+                if (!STATE.compareAndSet(this, ST_INIT, ST_EXPIRED)) return false;
+                owner.active.decrementAndGet();
+            }
+            try {
+                task.run();
+            } catch (final Throwable throwable) {
+                owner.logger.log(Level.WARNING, "Unhandled exception on timer task", throwable);
+            }
+            return period > 0 && state == ST_INIT;
+        }
+    }
+
+    private static final class Bucket {
+        private @Nullable Timeout head;
+        private @Nullable Timeout tail;
+
+        private void add(final @NotNull Timeout timeout) {
+            timeout.bucket = this;
+            timeout.prev = tail;
+            timeout.next = null;
+            if (tail == null) head = timeout; else tail.next = timeout;
+            tail = timeout;
+        }
+
+        private void remove(final @NotNull Timeout timeout) {
+            if (timeout.bucket != this) return;
+            final Timeout next = timeout.next;
+            final Timeout prev = timeout.prev;
+            if (prev == null) head = next; else prev.next = next;
+            if (next == null) tail = prev; else next.prev = prev;
+            timeout.bucket = null;
+            timeout.next = null;
+            timeout.prev = null;
+        }
+    }
+}
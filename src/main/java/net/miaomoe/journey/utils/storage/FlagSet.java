@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.utils.storage;
+
+import net.miaomoe.journey.annotation.Description;
+import net.miaomoe.journey.attribute.BooleanAttribute;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+import static net.miaomoe.journey.utils.Preconditions.checkArgument;
+import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
+
+@SuppressWarnings("unused")
+@Description(description = {
+        "Packed set of boolean flags, one bit per flag in a growable long array.",
+        "A BooleanAttribute is mapped to the bit of its BooleanAttribute#flagIndex(), so 64 flags cost one long instead of 64 storages.",
+        "Combine flags with of() to test several of them with a single mask test. Not thread-safe."
+})
+public final class FlagSet {
+    private static final long @NotNull [] EMPTY = new long[0];
+
+    private long @NotNull [] words;
+
+    public FlagSet() {
+        this.words = EMPTY;
+    }
+
+    public FlagSet(final int expectedBits) {
+        checkArgument(expectedBits >= 0, "expectedBits must not be negative");
+        this.words = new long[(expectedBits + 63) >>> 6];
+    }
+
+    private FlagSet(final long @NotNull [] words) {
+        this.words = words;
+    }
+
+    public static @NotNull FlagSet of(final @NotNull BooleanAttribute<?> @NotNull ... attributes) {
+        final FlagSet set = new FlagSet();
+        for (final BooleanAttribute<?> attribute : checkNotNull(attributes, "attributes")) set.set(attribute, true);
+        return set;
+    }
+
+    private static int bit(final @NotNull BooleanAttribute<?> attribute) {
+        final int index = checkNotNull(attribute, "attribute").flagIndex();
+        checkArgument(index >= 0, "Attribute must be created by BooleanAttribute#create()");
+        return index;
+    }
+
+    private void ensureWords(final int count) {
+        if (count > words.length) words = Arrays.copyOf(words, Math.max(count, words.length << 1));
+    }
+
+    public boolean get(final int bit) {
+        checkArgument(bit >= 0, "bit must not be negative");
+        final int word = bit >>> 6;
+        return word < words.length && (words[word] & (1L << bit)) != 0L;
+    }
+
+    public boolean get(final @NotNull BooleanAttribute<?> attribute) {
+        return get(bit(attribute));
+    }
+
+    public void set(final int bit, final boolean value) {
+        checkArgument(bit >= 0, "bit must not be negative");
+        final int word = bit >>> 6;
+        if (value) {
+            ensureWords(word + 1);
+            words[word] |= 1L << bit;
+        } else if (word < words.length) {
+            words[word] &= ~(1L << bit);
+        }
+    }
+
+    public void set(final @NotNull BooleanAttribute<?> attribute, final boolean value) {
+        set(bit(attribute), value);
+    }
+
+    public boolean flip(final int bit) {
+        final boolean value = !get(bit);
+        set(bit, value);
+        return value;
+    }
+
+    public boolean flip(final @NotNull BooleanAttribute<?> attribute) {
+        return flip(bit(attribute));
+    }
+
+    @Description(description = "Keep only the flags also set in other.")
+    public @NotNull FlagSet and(final @NotNull FlagSet other) {
+        final long[] theirs = checkNotNull(other, "other").words;
+        final int common = Math.min(words.length, theirs.length);
+        for (int i = 0; i < common; i++) words[i] &= theirs[i];
+        Arrays.fill(words, common, words.length, 0L);
+        return this;
+    }
+
+    @Description(description = "Add every flag set in other.")
+    public @NotNull FlagSet or(final @NotNull FlagSet other) {
+        final long[] theirs = checkNotNull(other, "other").words;
+        ensureWords(theirs.length);
+        for (int i = 0; i < theirs.length; i++) words[i] |= theirs[i];
+        return this;
+    }
+
+    @Description(description = "Remove every flag set in other.")
+    public @NotNull FlagSet andNot(final @NotNull FlagSet other) {
+        final long[] theirs = checkNotNull(other, "other").words;
+        final int common = Math.min(words.length, theirs.length);
+        for (int i = 0; i < common; i++) words[i] &= ~theirs[i];
+        return this;
+    }
+
+    public @NotNull FlagSet xor(final @NotNull FlagSet other) {
+        final long[] theirs = checkNotNull(other, "other").words;
+        ensureWords(theirs.length);
+        for (int i = 0; i < theirs.length; i++) words[i] ^= theirs[i];
+        return this;
+    }
+
+    @Description(description = "true if every flag of mask is set here.")
+    public boolean containsAll(final @NotNull FlagSet mask) {
+        final long[] theirs = checkNotNull(mask, "mask").words;
+        for (int i = 0; i < theirs.length; i++) {
+            final long mine = i < words.length ? words[i] : 0L;
+            if ((mine & theirs[i]) != theirs[i]) return false;
+        }
+        return true;
+    }
+
+    @Description(description = "true if any flag of mask is set here.")
+    public boolean intersects(final @NotNull FlagSet mask) {
+        final long[] theirs = checkNotNull(mask, "mask").words;
+        final int common = Math.min(words.length, theirs.length);
+        for (int i = 0; i < common; i++) if ((words[i] & theirs[i]) != 0L) return true;
+        return false;
+    }
+
+    public int cardinality() {
+        int count = 0;
+        for (final long word : words) count += Long.bitCount(word);
+        return count;
+    }
+
+    public boolean isEmpty() {
+        for (final long word : words) if (word != 0L) return false;
+        return true;
+    }
+
+    @Description(description = "Index of the first set bit at or after from, -1 if none.")
+    public int nextSetBit(final int from) {
+        checkArgument(from >= 0, "from must not be negative");
+        int word = from >>> 6;
+        if (word >= words.length) return -1;
+        long bits = words[word] & (-1L << from);
+        while (true) {
+            if (bits != 0L) return (word << 6) + Long.numberOfTrailingZeros(bits);
+            if (++word == words.length) return -1;
+            bits = words[word];
+        }
+    }
+
+    @Description(description = "Visit the index of every set bit in ascending order without allocating.")
+    public void forEach(final @NotNull IntConsumer action) {
+        checkNotNull(action, "action");
+        for (int word = 0; word < words.length; word++) {
+            long bits = words[word];
+            while (bits != 0L) {
+                action.accept((word << 6) + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(words, 0L);
+    }
+
+    public @NotNull FlagSet copy() {
+        return new FlagSet(words.clone());
+    }
+
+    public long @NotNull [] toLongArray() {
+        int length = words.length;
+        while (length > 0 && words[length - 1] == 0L) length--;
+        return Arrays.copyOf(words, length);
+    }
+
+    public static @NotNull FlagSet valueOf(final long @NotNull [] words) {
+        return new FlagSet(checkNotNull(words, "words").clone());
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof FlagSet)) return false;
+        return Arrays.equals(toLongArray(), ((FlagSet) obj).toLongArray());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toLongArray());
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("FlagSet{");
+        forEach(bit -> builder.append(builder.length() == 8 ? "" : ", ").append(bit));
+        return builder.append('}').toString();
+    }
+}
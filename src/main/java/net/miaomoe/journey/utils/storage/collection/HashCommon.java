@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.utils.storage.collection;
+
+import static net.miaomoe.journey.utils.Preconditions.checkArgument;
+
+final class HashCommon {
+    static final float LOAD_FACTOR = 0.75f;
+    static final int MAX_CAPACITY = 1 << 30;
+
+    private HashCommon() {
+    }
+
+    static int mix(final int x) {
+        final int h = x * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+    static int mix(final long x) {
+        long h = x * 0x9e3779b97f4a7c15L;
+        h ^= h >>> 32;
+        return (int) (h ^ (h >>> 16));
+    }
+
+    static int capacity(final int expected) {
+        checkArgument(expected >= 0, "expected must not be negative");
+        final long needed = Math.max(2L, (long) Math.ceil(expected / LOAD_FACTOR));
+        checkArgument(needed <= MAX_CAPACITY, "Too many elements: " + expected);
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    static int threshold(final int capacity) {
+        return Math.min(capacity - 1, (int) Math.ceil(capacity * LOAD_FACTOR));
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.utils.storage.collection;
+
+import net.miaomoe.journey.annotation.Description;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
+
+@SuppressWarnings("unused")
+@Description(description = {
+        "Open-addressing (linear probing) set of ints without boxing.",
+        "0 marks a free slot and is tracked beside the table. Not thread-safe."
+})
+public final class IntSet {
+    private int @NotNull [] keys;
+    private int mask;
+    private int threshold;
+    private int size = 0;
+    private boolean containsZero = false;
+
+    public IntSet() {
+        this(16);
+    }
+
+    public IntSet(final int expected) {
+        final int capacity = HashCommon.capacity(expected);
+        this.keys = new int[capacity];
+        this.mask = capacity - 1;
+        this.threshold = HashCommon.threshold(capacity);
+    }
+
+    private int find(final int key) {
+        int position = HashCommon.mix(key) & mask;
+        int current;
+        while ((current = keys[position]) != 0) {
+            if (current == key) return position;
+            position = (position + 1) & mask;
+        }
+        return -(position + 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(final int key) {
+        return key == 0 ? containsZero : find(key) >= 0;
+    }
+
+    public boolean add(final int key) {
+        if (key == 0) {
+            if (containsZero) return false;
+            containsZero = true;
+            size++;
+            return true;
+        }
+        final int position = find(key);
+        if (position >= 0) return false;
+        keys[-position - 1] = key;
+        if (++size >= threshold) rehash(keys.length << 1);
+        return true;
+    }
+
+    public boolean remove(final int key) {
+        if (key == 0) {
+            if (!containsZero) return false;
+            containsZero = false;
+            size--;
+            return true;
+        }
+        final int position = find(key);
+        if (position < 0) return false;
+        size--;
+        shiftKeys(position);
+        return true;
+    }
+
+    private void shiftKeys(int position) {
+        int last, slot, current;
+        while (true) {
+            position = ((last = position) + 1) & mask;
+            while (true) {
+                if ((current = keys[position]) == 0) {
+                    keys[last] = 0;
+                    return;
+                }
+                slot = HashCommon.mix(current) & mask;
+                if (last <= position ? last >= slot || slot > position : last >= slot && slot > position) break;
+                position = (position + 1) & mask;
+            }
+            keys[last] = current;
+        }
+    }
+
+    private void rehash(final int capacity) {
+        final int[] oldKeys = keys;
+        keys = new int[capacity];
+        mask = capacity - 1;
+        threshold = HashCommon.threshold(capacity);
+        for (final int key : oldKeys) {
+            if (key == 0) continue;
+            int position = HashCommon.mix(key) & mask;
+            while (keys[position] != 0) position = (position + 1) & mask;
+            keys[position] = key;
+        }
+    }
+
+    public void clear() {
+        if (size == 0) return;
+        Arrays.fill(keys, 0);
+        containsZero = false;
+        size = 0;
+    }
+
+    public int @NotNull [] toArray() {
+        final int[] array = new int[size];
+        int index = 0;
+        if (containsZero) array[index++] = 0;
+        for (final int key : keys) if (key != 0) array[index++] = key;
+        return array;
+    }
+
+    @Description(description = "Visit every element without allocating. The set must not be modified during the iteration.")
+    public void forEach(final @NotNull IntConsumer action) {
+        checkNotNull(action, "action");
+        if (containsZero) action.accept(0);
+        for (final int key : keys) if (key != 0) action.accept(key);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
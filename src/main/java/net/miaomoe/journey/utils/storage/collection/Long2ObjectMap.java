@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.utils.storage.collection;
+
+import net.miaomoe.journey.annotation.Description;
+import net.miaomoe.journey.functions.consumer.LongObjConsumer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
+import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
+
+@SuppressWarnings({"unused", "unchecked"})
+@Description(description = {
+        "Open-addressing (linear probing) map from long to V without boxing the keys.",
+        "Key 0 marks a free slot and is kept beside the table. Not thread-safe."
+})
+public final class Long2ObjectMap<V> {
+    private long @NotNull [] keys;
+    private @Nullable Object @NotNull [] values;
+    private int mask;
+    private int threshold;
+    private int size = 0;
+    private boolean containsZero = false;
+    private @Nullable V zeroValue = null;
+
+    public Long2ObjectMap() {
+        this(16);
+    }
+
+    public Long2ObjectMap(final int expected) {
+        final int capacity = HashCommon.capacity(expected);
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        this.threshold = HashCommon.threshold(capacity);
+    }
+
+    private int find(final long key) {
+        int position = HashCommon.mix(key) & mask;
+        long current;
+        while ((current = keys[position]) != 0) {
+            if (current == key) return position;
+            position = (position + 1) & mask;
+        }
+        return -(position + 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(final long key) {
+        return key == 0 ? containsZero : find(key) >= 0;
+    }
+
+    public @Nullable V get(final long key) {
+        return getOrDefault(key, null);
+    }
+
+    public V getOrDefault(final long key, final V defaultValue) {
+        if (key == 0) return containsZero ? zeroValue : defaultValue;
+        final int position = find(key);
+        return position >= 0 ? (V) values[position] : defaultValue;
+    }
+
+    public @Nullable V put(final long key, final V value) {
+        if (key == 0) {
+            final V previous = zeroValue;
+            if (!containsZero) size++;
+            containsZero = true;
+            zeroValue = value;
+            return previous;
+        }
+        final int position = find(key);
+        if (position >= 0) {
+            final V previous = (V) values[position];
+            values[position] = value;
+            return previous;
+        }
+        insert(-position - 1, key, value);
+        return null;
+    }
+
+    private void insert(final int position, final long key, final V value) {
+        keys[position] = key;
+        values[position] = value;
+        if (++size >= threshold) rehash(keys.length << 1);
+    }
+
+    public V computeIfAbsent(final long key, final @NotNull LongFunction<? extends V> mapping) {
+        checkNotNull(mapping, "mapping");
+        if (key == 0) {
+            if (!containsZero) put(0, mapping.apply(0));
+            return zeroValue;
+        }
+        final int position = find(key);
+        if (position >= 0) return (V) values[position];
+        final V value = mapping.apply(key);
+        insert(-position - 1, key, value);
+        return value;
+    }
+
+    public @Nullable V remove(final long key) {
+        if (key == 0) {
+            if (!containsZero) return null;
+            final V previous = zeroValue;
+            containsZero = false;
+            zeroValue = null;
+            size--;
+            return previous;
+        }
+        final int position = find(key);
+        if (position < 0) return null;
+        final V previous = (V) values[position];
+        size--;
+        shiftKeys(position);
+        return previous;
+    }
+
+    private void shiftKeys(int position) {
+        int last, slot;
+        long current;
+        while (true) {
+            position = ((last = position) + 1) & mask;
+            while (true) {
+                if ((current = keys[position]) == 0) {
+                    keys[last] = 0;
+                    values[last] = null;
+                    return;
+                }
+                slot = HashCommon.mix(current) & mask;
+                if (last <= position ? last >= slot || slot > position : last >= slot && slot > position) break;
+                position = (position + 1) & mask;
+            }
+            keys[last] = current;
+            values[last] = values[position];
+        }
+    }
+
+    private void rehash(final int capacity) {
+        final long[] oldKeys = keys;
+        final Object[] oldValues = values;
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = HashCommon.threshold(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            final long key = oldKeys[i];
+            if (key == 0) continue;
+            int position = HashCommon.mix(key) & mask;
+            while (keys[position] != 0) position = (position + 1) & mask;
+            keys[position] = key;
+            values[position] = oldValues[i];
+        }
+    }
+
+    public void clear() {
+        if (size == 0) return;
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        containsZero = false;
+        zeroValue = null;
+        size = 0;
+    }
+
+    @Description(description = "Visit every entry without allocating. The map must not be modified during the iteration.")
+    public void forEach(final @NotNull LongObjConsumer<? super V> action) {
+        checkNotNull(action, "action");
+        if (containsZero) action.accept(0, zeroValue);
+        final long[] keys = this.keys;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) action.accept(keys[i], (V) values[i]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("{");
+        forEach((key, value) -> builder.append(builder.length() == 1 ? "" : ", ").append(key).append('=').append(value));
+        return builder.append('}').toString();
+    }
+}
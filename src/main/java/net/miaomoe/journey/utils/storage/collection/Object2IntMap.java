@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.utils.storage.collection;
+
+import lombok.Getter;
+import lombok.Setter;
+import net.miaomoe.journey.annotation.Description;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+
+import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
+
+@SuppressWarnings({"unused", "unchecked"})
+@Description(description = {
+        "Open-addressing (linear probing) map from K to int without boxing the values.",
+        "Null keys are not permitted. Missing keys read as defaultReturnValue (0 unless changed). Not thread-safe."
+})
+public final class Object2IntMap<K> {
+    private @Nullable Object @NotNull [] keys;
+    private int @NotNull [] values;
+    private int mask;
+    private int threshold;
+    private int size = 0;
+    @Getter @Setter private int defaultReturnValue = 0;
+
+    public Object2IntMap() {
+        this(16);
+    }
+
+    public Object2IntMap(final int expected) {
+        final int capacity = HashCommon.capacity(expected);
+        this.keys = new Object[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+        this.threshold = HashCommon.threshold(capacity);
+    }
+
+    private int find(final @NotNull Object key) {
+        int position = HashCommon.mix(key.hashCode()) & mask;
+        Object current;
+        while ((current = keys[position]) != null) {
+            if (current.equals(key)) return position;
+            position = (position + 1) & mask;
+        }
+        return -(position + 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(final @NotNull Object key) {
+        return find(checkNotNull(key, "key")) >= 0;
+    }
+
+    public int getInt(final @NotNull Object key) {
+        final int position = find(checkNotNull(key, "key"));
+        return position >= 0 ? values[position] : defaultReturnValue;
+    }
+
+    public int getOrDefault(final @NotNull Object key, final int defaultValue) {
+        final int position = find(checkNotNull(key, "key"));
+        return position >= 0 ? values[position] : defaultValue;
+    }
+
+    @Description(description = "Returns the previous value, or defaultReturnValue if the key was absent.")
+    public int put(final @NotNull K key, final int value) {
+        final int position = find(checkNotNull(key, "key"));
+        if (position >= 0) {
+            final int previous = values[position];
+            values[position] = value;
+            return previous;
+        }
+        insert(-position - 1, key, value);
+        return defaultReturnValue;
+    }
+
+    @Description(description = "Add increment to the value (defaultReturnValue if absent) and return the new value.")
+    public int addTo(final @NotNull K key, final int increment) {
+        final int position = find(checkNotNull(key, "key"));
+        if (position >= 0) return values[position] += increment;
+        final int value = defaultReturnValue + increment;
+        insert(-position - 1, key, value);
+        return value;
+    }
+
+    public int computeIfAbsent(final @NotNull K key, final @NotNull ToIntFunction<? super K> mapping) {
+        checkNotNull(mapping, "mapping");
+        final int position = find(checkNotNull(key, "key"));
+        if (position >= 0) return values[position];
+        final int value = mapping.applyAsInt(key);
+        insert(-position - 1, key, value);
+        return value;
+    }
+
+    private void insert(final int position, final @NotNull K key, final int value) {
+        keys[position] = key;
+        values[position] = value;
+        if (++size >= threshold) rehash(keys.length << 1);
+    }
+
+    @Description(description = "Returns the removed value, or defaultReturnValue if the key was absent.")
+    public int removeInt(final @NotNull Object key) {
+        final int position = find(checkNotNull(key, "key"));
+        if (position < 0) return defaultReturnValue;
+        final int previous = values[position];
+        size--;
+        shiftKeys(position);
+        return previous;
+    }
+
+    private void shiftKeys(int position) {
+        int last, slot;
+        Object current;
+        while (true) {
+            position = ((last = position) + 1) & mask;
+            while (true) {
+                if ((current = keys[position]) == null) {
+                    keys[last] = null;
+                    return;
+                }
+                slot = HashCommon.mix(current.hashCode()) & mask;
+                if (last <= position ? last >= slot || slot > position : last >= slot && slot > position) break;
+                position = (position + 1) & mask;
+            }
+            keys[last] = current;
+            values[last] = values[position];
+        }
+    }
+
+    private void rehash(final int capacity) {
+        final Object[] oldKeys = keys;
+        final int[] oldValues = values;
+        keys = new Object[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        threshold = HashCommon.threshold(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            final Object key = oldKeys[i];
+            if (key == null) continue;
+            int position = HashCommon.mix(key.hashCode()) & mask;
+            while (keys[position] != null) position = (position + 1) & mask;
+            keys[position] = key;
+            values[position] = oldValues[i];
+        }
+    }
+
+    public void clear() {
+        if (size == 0) return;
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    @Description(description = "Visit every entry without allocating. The map must not be modified during the iteration.")
+    public void forEach(final @NotNull ObjIntConsumer<? super K> action) {
+        checkNotNull(action, "action");
+        final Object[] keys = this.keys;
+        for (int i = 0; i < keys.length; i++) {
+            final Object key = keys[i];
+            if (key != null) action.accept((K) key, values[i]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("{");
+        forEach((key, value) -> builder.append(builder.length() == 1 ? "" : ", ").append(key).append('=').append(value));
+        return builder.append('}').toString();
+    }
+}
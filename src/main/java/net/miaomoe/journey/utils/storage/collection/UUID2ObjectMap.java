@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.utils.storage.collection;
+
+import net.miaomoe.journey.annotation.Description;
+import net.miaomoe.journey.functions.consumer.UUIDObjConsumer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static net.miaomoe.journey.utils.Preconditions.checkNotNull;
+
+@SuppressWarnings({"unused", "unchecked"})
+@Description(description = {
+        "Open-addressing (linear probing) map keyed by the two longs of a UUID, so lookups by",
+        "(mostSignificantBits, leastSignificantBits) need no UUID instance and the table holds no UUID objects.",
+        "The nil UUID marks a free slot and is kept beside the table. Not thread-safe."
+})
+public final class UUID2ObjectMap<V> {
+    private long @NotNull [] most;
+    private long @NotNull [] least;
+    private @Nullable Object @NotNull [] values;
+    private int mask;
+    private int threshold;
+    private int size = 0;
+    private boolean containsNil = false;
+    private @Nullable V nilValue = null;
+
+    public UUID2ObjectMap() {
+        this(16);
+    }
+
+    public UUID2ObjectMap(final int expected) {
+        final int capacity = HashCommon.capacity(expected);
+        this.most = new long[capacity];
+        this.least = new long[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        this.threshold = HashCommon.threshold(capacity);
+    }
+
+    private static int hash(final long most, final long least) {
+        return HashCommon.mix(most ^ (least * 31L));
+    }
+
+    private static boolean isNil(final long most, final long least) {
+        return most == 0L && least == 0L;
+    }
+
+    private int find(final long most, final long least) {
+        int position = hash(most, least) & mask;
+        while (!isNil(this.most[position], this.least[position])) {
+            if (this.most[position] == most && this.least[position] == least) return position;
+            position = (position + 1) & mask;
+        }
+        return -(position + 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(final long most, final long least) {
+        return isNil(most, least) ? containsNil : find(most, least) >= 0;
+    }
+
+    public boolean containsKey(final @NotNull UUID uuid) {
+        return containsKey(checkNotNull(uuid, "uuid").getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    public @Nullable V get(final long most, final long least) {
+        if (isNil(most, least)) return nilValue;
+        final int position = find(most, least);
+        return position >= 0 ? (V) values[position] : null;
+    }
+
+    public @Nullable V get(final @NotNull UUID uuid) {
+        return get(checkNotNull(uuid, "uuid").getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    public @Nullable V put(final long most, final long least, final V value) {
+        if (isNil(most, least)) {
+            final V previous = nilValue;
+            if (!containsNil) size++;
+            containsNil = true;
+            nilValue = value;
+            return previous;
+        }
+        final int position = find(most, least);
+        if (position >= 0) {
+            final V previous = (V) values[position];
+            values[position] = value;
+            return previous;
+        }
+        insert(-position - 1, most, least, value);
+        return null;
+    }
+
+    public @Nullable V put(final @NotNull UUID uuid, final V value) {
+        return put(checkNotNull(uuid, "uuid").getMostSignificantBits(), uuid.getLeastSignificantBits(), value);
+    }
+
+    private void insert(final int position, final long most, final long least, final V value) {
+        this.most[position] = most;
+        this.least[position] = least;
+        values[position] = value;
+        if (++size >= threshold) rehash(values.length << 1);
+    }
+
+    public V computeIfAbsent(final @NotNull UUID uuid, final @NotNull Function<? super UUID, ? extends V> mapping) {
+        checkNotNull(mapping, "mapping");
+        final long most = checkNotNull(uuid, "uuid").getMostSignificantBits(), least = uuid.getLeastSignificantBits();
+        if (isNil(most, least)) {
+            if (!containsNil) put(most, least, mapping.apply(uuid));
+            return nilValue;
+        }
+        final int position = find(most, least);
+        if (position >= 0) return (V) values[position];
+        final V value = mapping.apply(uuid);
+        insert(-position - 1, most, least, value);
+        return value;
+    }
+
+    public @Nullable V remove(final long most, final long least) {
+        if (isNil(most, least)) {
+            if (!containsNil) return null;
+            final V previous = nilValue;
+            containsNil = false;
+            nilValue = null;
+            size--;
+            return previous;
+        }
+        final int position = find(most, least);
+        if (position < 0) return null;
+        final V previous = (V) values[position];
+        size--;
+        shiftKeys(position);
+        return previous;
+    }
+
+    public @Nullable V remove(final @NotNull UUID uuid) {
+        return remove(checkNotNull(uuid, "uuid").getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    private void shiftKeys(int position) {
+        int last, slot;
+        long currentMost, currentLeast;
+        while (true) {
+            position = ((last = position) + 1) & mask;
+            while (true) {
+                currentMost = most[position];
+                currentLeast = least[position];
+                if (isNil(currentMost, currentLeast)) {
+                    most[last] = 0L;
+                    least[last] = 0L;
+                    values[last] = null;
+                    return;
+                }
+                slot = hash(currentMost, currentLeast) & mask;
+                if (last <= position ? last >= slot || slot > position : last >= slot && slot > position) break;
+                position = (position + 1) & mask;
+            }
+            most[last] = currentMost;
+            least[last] = currentLeast;
+            values[last] = values[position];
+        }
+    }
+
+    private void rehash(final int capacity) {
+        final long[] oldMost = most, oldLeast = least;
+        final Object[] oldValues = values;
+        most = new long[capacity];
+        least = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = HashCommon.threshold(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (isNil(oldMost[i], oldLeast[i])) continue;
+            int position = hash(oldMost[i], oldLeast[i]) & mask;
+            while (!isNil(most[position], least[position])) position = (position + 1) & mask;
+            most[position] = oldMost[i];
+            least[position] = oldLeast[i];
+            values[position] = oldValues[i];
+        }
+    }
+
+    public void clear() {
+        if (size == 0) return;
+        Arrays.fill(most, 0L);
+        Arrays.fill(least, 0L);
+        Arrays.fill(values, null);
+        containsNil = false;
+        nilValue = null;
+        size = 0;
+    }
+
+    @Description(description = "Visit every entry without allocating UUIDs. The map must not be modified during the iteration.")
+    public void forEach(final @NotNull UUIDObjConsumer<? super V> action) {
+        checkNotNull(action, "action");
+        if (containsNil) action.accept(0L, 0L, nilValue);
+        for (int i = 0; i < values.length; i++) {
+            if (!isNil(most[i], least[i])) action.accept(most[i], least[i], (V) values[i]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("{");
+        forEach((most, least, value) -> builder.append(builder.length() == 1 ? "" : ", ").append(new UUID(most, least)).append('=').append(value));
+        return builder.append('}').toString();
+    }
+}
@@ -28,6 +28,8 @@ import java.util.function.Supplier;
 @SuppressWarnings("unused")
 public final class OptionalBoolean {
     private static final OptionalBoolean EMPTY = new OptionalBoolean();
+    private static final OptionalBoolean TRUE = new OptionalBoolean(true);
+    private static final OptionalBoolean FALSE = new OptionalBoolean(false);
 
     private final boolean isPresent, value;
 
@@ -43,7 +45,7 @@ public final class OptionalBoolean {
 
     public static OptionalBoolean empty() { return EMPTY; }
 
-    public static OptionalBoolean of(boolean value) { return new OptionalBoolean(value); }
+    public static OptionalBoolean of(boolean value) { return value ? TRUE : FALSE; }
 
     public static OptionalBoolean ofBoxed(final Boolean value) {
         return value == null ? empty() : of(value);
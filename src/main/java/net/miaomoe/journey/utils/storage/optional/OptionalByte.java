@@ -28,6 +28,11 @@ import java.util.function.Supplier;
 @SuppressWarnings("unused")
 public final class OptionalByte {
     private static final OptionalByte EMPTY = new OptionalByte();
+    private static final OptionalByte[] CACHE = new OptionalByte[256];
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) CACHE[i] = new OptionalByte((byte) (i + Byte.MIN_VALUE));
+    }
 
     private final boolean isPresent;
     private final byte value;
@@ -44,7 +49,7 @@ public final class OptionalByte {
 
     public static OptionalByte empty() { return EMPTY; }
 
-    public static OptionalByte of(byte value) { return new OptionalByte(value); }
+    public static OptionalByte of(byte value) { return CACHE[value - Byte.MIN_VALUE]; }
 
     public static OptionalByte ofBoxed(final Byte value) {
         return value == null ? empty() : of(value);
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.utils.storage.primitive;
+
+import net.miaomoe.journey.annotation.Description;
+import net.miaomoe.journey.utils.storage.optional.OptionalBoolean;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+@SuppressWarnings("unused")
+@Description(description = {
+        "BooleanStorage that is safe to share between threads. Every write marks the storage present,",
+        "only setNull() clears it."
+})
+public final class AtomicBooleanStorage extends PrimitiveStorage<AtomicBooleanStorage, Boolean, OptionalBoolean> {
+    private static final @NotNull Function<AtomicBooleanStorage, Boolean> BOXED_GETTER = AtomicBooleanStorage::getPrimitive;
+    private static final @NotNull BiConsumer<AtomicBooleanStorage, Boolean> BOXED_SETTER = AtomicBooleanStorage::setPrimitive;
+    private static final @NotNull AtomicIntegerFieldUpdater<AtomicBooleanStorage> VALUE =
+            AtomicIntegerFieldUpdater.newUpdater(AtomicBooleanStorage.class, "value");
+
+    private volatile int value;
+    private volatile boolean present = false;
+
+    public AtomicBooleanStorage() {
+        super(BOXED_GETTER, BOXED_SETTER);
+    }
+
+    public AtomicBooleanStorage(final boolean value) {
+        this();
+        setPrimitive(value);
+    }
+
+    private void present() {
+        if (!present) present = true;
+    }
+
+    public boolean getPrimitive() {
+        return value != 0;
+    }
+
+    public void setPrimitive(final boolean value) {
+        this.value = value ? 1 : 0;
+        present();
+    }
+
+    @Description(description = "Eventually sets the value, without a store-load barrier.")
+    public void lazySet(final boolean value) {
+        VALUE.lazySet(this, value ? 1 : 0);
+        present();
+    }
+
+    public boolean getAndSet(final boolean value) {
+        final int previous = VALUE.getAndSet(this, value ? 1 : 0);
+        present();
+        return previous != 0;
+    }
+
+    public boolean compareAndSet(final boolean expect, final boolean update) {
+        if (!VALUE.compareAndSet(this, expect ? 1 : 0, update ? 1 : 0)) return false;
+        present();
+        return true;
+    }
+
+    @Override
+    public boolean isPreset() {
+        return present;
+    }
+
+    @Override
+    public void setNull() {
+        present = false;
+        value = 0;
+    }
+
+    @Override
+    void reset() {
+        value = 0;
+    }
+
+    @Override
+    public @NotNull OptionalBoolean getOptional() {
+        final boolean value = getPrimitive();
+        return present ? OptionalBoolean.of(value) : OptionalBoolean.empty();
+    }
+}
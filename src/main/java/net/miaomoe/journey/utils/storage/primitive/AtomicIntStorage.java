@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.utils.storage.primitive;
+
+import net.miaomoe.journey.annotation.Description;
+import net.miaomoe.journey.functions.function.IntToIntFunction;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+@SuppressWarnings("unused")
+@Description(description = {
+        "IntStorage that is safe to share between threads. Every write marks the storage present,",
+        "only setNull() clears it."
+})
+public final class AtomicIntStorage extends PrimitiveStorage<AtomicIntStorage, Integer, OptionalInt> {
+    private static final @NotNull Function<AtomicIntStorage, Integer> BOXED_GETTER = AtomicIntStorage::getPrimitive;
+    private static final @NotNull BiConsumer<AtomicIntStorage, Integer> BOXED_SETTER = AtomicIntStorage::setPrimitive;
+    private static final @NotNull AtomicIntegerFieldUpdater<AtomicIntStorage> VALUE =
+            AtomicIntegerFieldUpdater.newUpdater(AtomicIntStorage.class, "value");
+
+    private volatile int value;
+    private volatile boolean present = false;
+
+    public AtomicIntStorage() {
+        super(BOXED_GETTER, BOXED_SETTER);
+    }
+
+    public AtomicIntStorage(final int value) {
+        this();
+        setPrimitive(value);
+    }
+
+    private int present(final int value) {
+        if (!present) present = true;
+        return value;
+    }
+
+    public int getPrimitive() {
+        return value;
+    }
+
+    public void setPrimitive(final int value) {
+        this.value = value;
+        present(value);
+    }
+
+    @Description(description = "Eventually sets the value, without a store-load barrier.")
+    public void lazySet(final int value) {
+        VALUE.lazySet(this, value);
+        present(value);
+    }
+
+    public int getAndSet(final int value) {
+        return present(VALUE.getAndSet(this, value));
+    }
+
+    public boolean compareAndSet(final int expect, final int update) {
+        if (!VALUE.compareAndSet(this, expect, update)) return false;
+        present(update);
+        return true;
+    }
+
+    public int getAndAdd(final int delta) {
+        return present(VALUE.getAndAdd(this, delta));
+    }
+
+    public int addAndGet(final int delta) {
+        return present(VALUE.addAndGet(this, delta));
+    }
+
+    public int incrementAndGet() {
+        return addAndGet(1);
+    }
+
+    public int decrementAndGet() {
+        return addAndGet(-1);
+    }
+
+    public int updateAndGet(final @NotNull IntToIntFunction function) {
+        int previous, next;
+        do {
+            previous = value;
+            next = function.apply(previous);
+        } while (!VALUE.compareAndSet(this, previous, next));
+        return present(next);
+    }
+
+    @Override
+    public boolean isPreset() {
+        return present;
+    }
+
+    @Override
+    public void setNull() {
+        present = false;
+        value = 0;
+    }
+
+    @Override
+    void reset() {
+        value = 0;
+    }
+
+    @Override
+    public @NotNull OptionalInt getOptional() {
+        final int value = this.value;
+        return present ? OptionalInt.of(value) : OptionalInt.empty();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.utils.storage.primitive;
+
+import net.miaomoe.journey.annotation.Description;
+import net.miaomoe.journey.functions.function.LongToLongFunction;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+@SuppressWarnings("unused")
+@Description(description = {
+        "LongStorage that is safe to share between threads. Every write marks the storage present,",
+        "only setNull() clears it."
+})
+public final class AtomicLongStorage extends PrimitiveStorage<AtomicLongStorage, Long, OptionalLong> {
+    private static final @NotNull Function<AtomicLongStorage, Long> BOXED_GETTER = AtomicLongStorage::getPrimitive;
+    private static final @NotNull BiConsumer<AtomicLongStorage, Long> BOXED_SETTER = AtomicLongStorage::setPrimitive;
+    private static final @NotNull AtomicLongFieldUpdater<AtomicLongStorage> VALUE =
+            AtomicLongFieldUpdater.newUpdater(AtomicLongStorage.class, "value");
+
+    private volatile long value;
+    private volatile boolean present = false;
+
+    public AtomicLongStorage() {
+        super(BOXED_GETTER, BOXED_SETTER);
+    }
+
+    public AtomicLongStorage(final long value) {
+        this();
+        setPrimitive(value);
+    }
+
+    private long present(final long value) {
+        if (!present) present = true;
+        return value;
+    }
+
+    public long getPrimitive() {
+        return value;
+    }
+
+    public void setPrimitive(final long value) {
+        this.value = value;
+        present(value);
+    }
+
+    @Description(description = "Eventually sets the value, without a store-load barrier.")
+    public void lazySet(final long value) {
+        VALUE.lazySet(this, value);
+        present(value);
+    }
+
+    public long getAndSet(final long value) {
+        return present(VALUE.getAndSet(this, value));
+    }
+
+    public boolean compareAndSet(final long expect, final long update) {
+        if (!VALUE.compareAndSet(this, expect, update)) return false;
+        present(update);
+        return true;
+    }
+
+    public long getAndAdd(final long delta) {
+        return present(VALUE.getAndAdd(this, delta));
+    }
+
+    public long addAndGet(final long delta) {
+        return present(VALUE.addAndGet(this, delta));
+    }
+
+    public long incrementAndGet() {
+        return addAndGet(1);
+    }
+
+    public long decrementAndGet() {
+        return addAndGet(-1);
+    }
+
+    public long updateAndGet(final @NotNull LongToLongFunction function) {
+        long previous, next;
+        do {
+            previous = value;
+            next = function.apply(previous);
+        } while (!VALUE.compareAndSet(this, previous, next));
+        return present(next);
+    }
+
+    @Override
+    public boolean isPreset() {
+        return present;
+    }
+
+    @Override
+    public void setNull() {
+        present = false;
+        value = 0L;
+    }
+
+    @Override
+    void reset() {
+        value = 0L;
+    }
+
+    @Override
+    public @NotNull OptionalLong getOptional() {
+        final long value = this.value;
+        return present ? OptionalLong.of(value) : OptionalLong.empty();
+    }
+}
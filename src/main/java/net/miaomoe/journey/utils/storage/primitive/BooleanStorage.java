@@ -17,6 +17,7 @@
 
 package net.miaomoe.journey.utils.storage.primitive;
 
+import net.miaomoe.journey.annotation.Description;
 import net.miaomoe.journey.utils.storage.optional.OptionalBoolean;
 import org.jetbrains.annotations.NotNull;
 
@@ -27,6 +28,8 @@ import java.util.function.Function;
 public final class BooleanStorage extends PrimitiveStorage<BooleanStorage, Boolean, OptionalBoolean> {
     private static final @NotNull Function<BooleanStorage, Boolean> BOXED_GETTER = BooleanStorage::getPrimitive;
     private static final @NotNull BiConsumer<BooleanStorage, Boolean> BOXED_SETTER = BooleanStorage::setPrimitive;
+    private static final @NotNull BooleanStorage TRUE = new BooleanStorage(true).freeze();
+    private static final @NotNull BooleanStorage FALSE = new BooleanStorage(false).freeze();
 
     private boolean value;
 
@@ -48,15 +51,26 @@ public final class BooleanStorage extends PrimitiveStorage<BooleanStorage, Boole
         }
     }
 
+    @Description(description = "Shared immutable instance, use the constructor for a modifiable one.")
+    public static @NotNull BooleanStorage valueOf(final boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
     public boolean getPrimitive() {
         return value;
     }
 
     public void setPrimitive(final boolean value) {
+        checkMutable();
         exist = true;
         this.value = value;
     }
 
+    @Override
+    BooleanStorage copy() {
+        return new BooleanStorage(value);
+    }
+
     @Override
     void reset() {
         value = false;
@@ -17,6 +17,7 @@
 
 package net.miaomoe.journey.utils.storage.primitive;
 
+import net.miaomoe.journey.annotation.Description;
 import net.miaomoe.journey.utils.storage.optional.OptionalByte;
 import org.jetbrains.annotations.NotNull;
 
@@ -45,15 +46,34 @@ public final class ByteStorage extends PrimitiveStorage<ByteStorage, Byte, Optio
 
     private byte value;
 
+    private static final class Cache {
+        private static final @NotNull ByteStorage @NotNull [] VALUES = new ByteStorage[256];
+
+        static {
+            for (int i = 0; i < VALUES.length; i++) VALUES[i] = new ByteStorage((byte) (i + Byte.MIN_VALUE)).freeze();
+        }
+    }
+
+    @Description(description = "Shared immutable instance, use the constructor for a modifiable one.")
+    public static @NotNull ByteStorage valueOf(final byte value) {
+        return Cache.VALUES[value - Byte.MIN_VALUE];
+    }
+
     public byte getPrimitive() {
         return value;
     }
 
     public void setPrimitive(byte value) {
+        checkMutable();
         exist = true;
         this.value = value;
     }
 
+    @Override
+    ByteStorage copy() {
+        return new ByteStorage(value);
+    }
+
     @Override
     void reset() {
         value = 0;
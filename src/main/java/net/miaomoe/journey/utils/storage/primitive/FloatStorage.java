@@ -50,6 +50,7 @@ public final class FloatStorage extends PrimitiveStorage<FloatStorage, Float, Op
     }
 
     public void setPrimitive(final float value) {
+        exist = true;
         this.value = value;
     }
 
@@ -17,6 +17,7 @@
 
 package net.miaomoe.journey.utils.storage.primitive;
 
+import net.miaomoe.journey.annotation.Description;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.OptionalInt;
@@ -30,6 +31,25 @@ public final class IntStorage extends PrimitiveStorage<IntStorage, Integer, Opti
 
     private int value;
 
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 1023;
+
+    private static final class Cache {
+        private static final @NotNull IntStorage @NotNull [] VALUES = new IntStorage[CACHE_HIGH - CACHE_LOW + 1];
+
+        static {
+            for (int i = 0; i < VALUES.length; i++) VALUES[i] = new IntStorage(i + CACHE_LOW).freeze();
+        }
+    }
+
+    @Description(description = {
+            "Shared and immutable for -128..1023 (like Integer.valueOf), a new modifiable instance otherwise.",
+            "Attribute maps keep the latter as is instead of copying it again."
+    })
+    public static @NotNull IntStorage valueOf(final int value) {
+        return value >= CACHE_LOW && value <= CACHE_HIGH ? Cache.VALUES[value - CACHE_LOW] : new IntStorage(value);
+    }
+
     public IntStorage() {
         super(BOXED_GETTER, BOXED_SETTER);
         exist = false;
@@ -51,10 +71,16 @@ public final class IntStorage extends PrimitiveStorage<IntStorage, Integer, Opti
     }
 
     public void setPrimitive(final int obj) {
+        checkMutable();
         exist = true;
         this.value = obj;
     }
 
+    @Override
+    IntStorage copy() {
+        return new IntStorage(value);
+    }
+
     @Override
     void reset() {
         value = 0;
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2024-2025. CatMoe / Journey Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package net.miaomoe.journey.utils.storage.primitive;
+
+import net.miaomoe.journey.annotation.Description;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+@SuppressWarnings("unused")
+@Description(description = {
+        "Striped counter for values written from many threads and read rarely (statistics, hot counters).",
+        "add() does not contend, getPrimitive() sums the stripes and is not an atomic snapshot.",
+        "setPrimitive() is reset + add and must not race with other writers to be exact."
+})
+public final class LongAdderStorage extends PrimitiveStorage<LongAdderStorage, Long, OptionalLong> {
+    private static final @NotNull Function<LongAdderStorage, Long> BOXED_GETTER = LongAdderStorage::getPrimitive;
+    private static final @NotNull BiConsumer<LongAdderStorage, Long> BOXED_SETTER = LongAdderStorage::setPrimitive;
+
+    private final @NotNull LongAdder adder = new LongAdder();
+    private volatile boolean present = false;
+
+    public LongAdderStorage() {
+        super(BOXED_GETTER, BOXED_SETTER);
+    }
+
+    public LongAdderStorage(final long value) {
+        this();
+        setPrimitive(value);
+    }
+
+    private void present() {
+        if (!present) present = true;
+    }
+
+    public long getPrimitive() {
+        return adder.sum();
+    }
+
+    public void setPrimitive(final long value) {
+        adder.reset();
+        adder.add(value);
+        present();
+    }
+
+    public void add(final long delta) {
+        adder.add(delta);
+        present();
+    }
+
+    public void increment() {
+        add(1L);
+    }
+
+    public void decrement() {
+        add(-1L);
+    }
+
+    public long sumThenReset() {
+        return adder.sumThenReset();
+    }
+
+    @Override
+    public boolean isPreset() {
+        return present;
+    }
+
+    @Override
+    public void setNull() {
+        present = false;
+        adder.reset();
+    }
+
+    @Override
+    void reset() {
+        adder.reset();
+    }
+
+    @Override
+    public @NotNull OptionalLong getOptional() {
+        final long value = adder.sum();
+        return present ? OptionalLong.of(value) : OptionalLong.empty();
+    }
+}
@@ -28,7 +28,6 @@ public final class LongStorage extends PrimitiveStorage<LongStorage, Long, Optio
     private static final @NotNull Function<LongStorage, Long> BOXED_GETTER = LongStorage::getPrimitive;
     private static final @NotNull BiConsumer<LongStorage, Long> BOXED_SETTER = LongStorage::setPrimitive;
 
-    private boolean exist;
     private long value = 0L;
 
     public LongStorage() {
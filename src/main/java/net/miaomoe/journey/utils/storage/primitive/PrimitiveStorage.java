@@ -29,6 +29,7 @@ import java.util.function.Function;
 @RequiredArgsConstructor(access = AccessLevel.PROTECTED)
 public abstract class PrimitiveStorage<I extends PrimitiveStorage<?, B, O>, B, O> extends AbstractStorage<B, O> {
     protected boolean exist;
+    private boolean frozen = false;
     private final @NotNull Function<I, B> boxedGetter;
     private final @NotNull BiConsumer<I, B> boxedSetter;
 
@@ -36,7 +37,7 @@ public abstract class PrimitiveStorage<I extends PrimitiveStorage<?, B, O>, B, O
     @Description(description = "Not recommend get boxed with known PrimitiveStorage.")
     @SuppressWarnings("unchecked")
     @Override public final B get() {
-        return exist ? boxedGetter.apply((I) this) : null;
+        return isPreset() ? boxedGetter.apply((I) this) : null;
     }
 
     @Deprecated
@@ -51,6 +52,7 @@ public abstract class PrimitiveStorage<I extends PrimitiveStorage<?, B, O>, B, O
     }
 
     public void setNull() {
+        checkMutable();
         if (exist) {
             exist = false;
             reset();
@@ -58,15 +60,43 @@ public abstract class PrimitiveStorage<I extends PrimitiveStorage<?, B, O>, B, O
     }
 
     @Override
-    public final boolean isPreset() {
+    public boolean isPreset() {
         return exist;
     }
 
     abstract void reset();
 
+    @SuppressWarnings("unchecked")
+    final I freeze() {
+        frozen = true;
+        return (I) this;
+    }
+
+    @Description(description = "Shared instances returned by valueOf() are frozen and reject every write.")
+    public final boolean isFrozen() {
+        return frozen;
+    }
+
+    I copy() {
+        throw new UnsupportedOperationException(getClass().getName() + " has no shared instances");
+    }
+
+    @Description(description = {
+            "The value itself, or a modifiable copy when it is a frozen shared storage.",
+            "Attribute maps store values through this, so getAttribute never hands out a frozen instance."
+    })
+    @SuppressWarnings("unchecked")
+    public static <V> V unfrozen(final V value) {
+        return value instanceof PrimitiveStorage && ((PrimitiveStorage<?, ?, ?>) value).frozen ? (V) ((PrimitiveStorage<?, ?, ?>) value).copy() : value;
+    }
+
+    final void checkMutable() {
+        if (frozen) throw new UnsupportedOperationException("Shared storage is immutable, create a new instance to modify it");
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public final String toString() {
-        return this.getClass().getSimpleName() + "[preset=" + exist + ", value=" + boxedGetter.apply((I) this) + "]";
+        return this.getClass().getSimpleName() + "[preset=" + isPreset() + ", value=" + boxedGetter.apply((I) this) + "]";
     }
 }